@@ -0,0 +1,126 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gerador de carga em arquivo único (Java 21): java benchmark/LoadBenchmark.java [opções]
+ * <p>
+ * Faz login uma vez e mantém {@code --concurrency} clientes em laço fechado chamando os
+ * caminhos de {@code --paths} durante {@code --duration} segundos, após um aquecimento.
+ * Imprime vazão, latências p50/p99/máxima e respostas com erro.
+ */
+public class LoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = option(args, "--url", "http://localhost:8080");
+        String login = option(args, "--login", "maria.santos");
+        String password = option(args, "--password", "password");
+        int concurrency = Integer.parseInt(option(args, "--concurrency", "200"));
+        int warmupSeconds = Integer.parseInt(option(args, "--warmup", "10"));
+        int durationSeconds = Integer.parseInt(option(args, "--duration", "30"));
+        String[] paths = option(args, "--paths", "/api/user,/api/user/1").split(",");
+        String label = option(args, "--label", "run");
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String token = login(client, baseUrl, login, password);
+
+        run(client, baseUrl, token, paths, concurrency, warmupSeconds);
+        Result result = run(client, baseUrl, token, paths, concurrency, durationSeconds);
+        result.print(label, concurrency, durationSeconds);
+    }
+
+    private static Result run(HttpClient client, String baseUrl, String token, String[] paths,
+                              int concurrency, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        long[][] perClient = new long[concurrency][];
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int slot = i;
+                clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        String path = paths[ThreadLocalRandom.current().nextInt(paths.length)];
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    perClient[slot] = Arrays.copyOf(latencies, count);
+                });
+            }
+        }
+
+        long[] all = Arrays.stream(perClient).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.get());
+    }
+
+    private static String login(HttpClient client, String baseUrl, String login, String password) throws Exception {
+        String body = "{\"login\":\"" + login + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"").matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Falha no login (" + response.statusCode() + "): " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+
+    private record Result(long[] sortedLatencies, long errors) {
+
+        void print(String label, int concurrency, int seconds) {
+            int n = sortedLatencies.length;
+            System.out.printf("%-10s concorrência=%d requisições=%d erros=%d vazão=%.1f req/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                    label, concurrency, n, errors, n / (double) seconds,
+                    percentile(0.50), percentile(0.99), n == 0 ? 0 : sortedLatencies[n - 1] / 1e6);
+        }
+
+        private double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
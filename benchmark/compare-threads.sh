@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Compara vazão e p99 entre o modo de threads de plataforma e o modo de threads virtuais.
+#
+# Pré-requisitos: MySQL acessível com as variáveis do .env (DB_URL, DB_USER, DB_PASS) e JDK 21.
+# Uso: benchmark/compare-threads.sh [concorrência] [duração em segundos]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY="${1:-200}"
+DURATION="${2:-30}"
+PROFILE="${BENCHMARK_PROFILE:-prod}"
+PATHS="${BENCHMARK_PATHS:-/api/user,/api/user/1}"
+# O actuator responde na porta de gerenciamento, não na 8080
+HEALTH_URL="http://localhost:${MANAGEMENT_PORT:-8081}/actuator/health"
+
+./mvnw -q -DskipTests package
+JAR="$(ls target/foodmanager-*.jar | grep -v original | head -n 1)"
+
+run_mode() {
+  local label="$1" profiles="$2"
+  java -Djdk.tracePinnedThreads=short -jar "$JAR" --spring.profiles.active="$profiles" \
+    > "target/benchmark-$label.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  until curl -sf "$HEALTH_URL" > /dev/null; do
+    kill -0 "$pid" 2>/dev/null || { echo "Aplicação não iniciou, veja target/benchmark-$label.log"; exit 1; }
+    sleep 1
+  done
+
+  java benchmark/LoadBenchmark.java --label "$label" --concurrency "$CONCURRENCY" \
+    --duration "$DURATION" --paths "$PATHS"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+
+  if grep -q "onPinned\|<== monitors" "target/benchmark-$label.log"; then
+    echo "Atenção: pinning de threads virtuais registrado em target/benchmark-$label.log"
+  fi
+}
+
+run_mode plataforma "$PROFILE"
+run_mode virtuais "$PROFILE,vthreads"
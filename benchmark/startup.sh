@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Compara a inicialização do jar comum, com CDS, com Spring AOT, com AOT + CDS e, se já tiver sido
+# gerada com ./mvnw -Pnative native:compile, da imagem nativa. Para cada variante informa a mediana
+# do tempo até a primeira resposta HTTP e da memória residente (RSS) nesse momento.
+#
+# Pré-requisitos: MySQL acessível com as variáveis do perfil (SPRING_DATASOURCE_URL,
+# SPRING_DATASOURCE_USERNAME, SPRING_DATASOURCE_PASSWORD), JDK 21 e curl.
+# Uso: benchmark/startup.sh [execuções por variante]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PROFILE="${BENCHMARK_PROFILE:-prod}"
+URL="${BENCHMARK_URL:-http://localhost:8080/api/user/1}"
+WORK=target/startup
+
+./mvnw -q -Paot -DskipTests package -Daot.profiles="$PROFILE"
+JAR="$(ls target/foodmanager-*.jar | grep -v original | head -n 1)"
+rm -rf "$WORK"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK/application" > /dev/null
+APP="$WORK/application/$(basename "$JAR")"
+
+train() {
+  local archive="$1"; shift
+  java -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh "$@" -jar "$APP" \
+    --spring.profiles.active="$PROFILE" > "$WORK/training-$(basename "$archive" .jsa).log" 2>&1
+}
+
+train "$WORK/jit.jsa"
+train "$WORK/aot.jsa" -Dspring.aot.enabled=true
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+run_variant() {
+  local label="$1"; shift
+  local times=() rss=()
+  for _ in $(seq "$RUNS"); do
+    local start pid
+    start="$(date +%s%N)"
+    "$@" --spring.profiles.active="$PROFILE" > "$WORK/$label.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" != "000" ]; do
+      kill -0 "$pid" 2>/dev/null || { echo "Aplicação não iniciou, veja $WORK/$label.log"; exit 1; }
+      sleep 0.02
+    done
+    times+=($(( ($(date +%s%N) - start) / 1000000 )))
+    rss+=($(( $(ps -o rss= -p "$pid") / 1024 )))
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+  done
+  printf '%-8s %14s ms %8s MB\n' "$label" \
+    "$(printf '%s\n' "${times[@]}" | median)" "$(printf '%s\n' "${rss[@]}" | median)"
+}
+
+printf '%-8s %17s %11s\n' variante "primeira resposta" RSS
+run_variant jar java -jar "$APP"
+run_variant cds java -XX:SharedArchiveFile="$WORK/jit.jsa" -jar "$APP"
+run_variant aot java -Dspring.aot.enabled=true -jar "$APP"
+run_variant aot-cds java -XX:SharedArchiveFile="$WORK/aot.jsa" -Dspring.aot.enabled=true -jar "$APP"
+if [ -x target/foodmanager ]; then
+  run_variant native target/foodmanager
+fi
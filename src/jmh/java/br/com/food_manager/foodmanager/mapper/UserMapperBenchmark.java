@@ -0,0 +1,56 @@
+package br.com.food_manager.foodmanager.mapper;
+
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private final UserMapper userMapper = new UserMapper();
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = new User("Usuário " + i, "usuario" + i + "@email.com", "usuario" + i, "hash",
+                    new Date(), "Rua " + i);
+            user.setId((long) i);
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public UserResponse toResponse() {
+        return userMapper.toResponse(users.get(0));
+    }
+
+    @Benchmark
+    public List<UserResponse> toResponseList() {
+        return userMapper.toResponseList(users);
+    }
+}
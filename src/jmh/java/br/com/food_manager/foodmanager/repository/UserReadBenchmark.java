@@ -0,0 +1,112 @@
+package br.com.food_manager.foodmanager.repository;
+
+import br.com.food_manager.foodmanager.FoodmanagerApplication;
+import br.com.food_manager.foodmanager.mapper.UserMapper;
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.dto.UserPageStamp;
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura de uma página grande de usuários no H2 em memória (perfil {@code test}):
+ * entidades gerenciadas mapeadas por {@link UserMapper} contra a projeção direta em
+ * {@link UserResponse}, e o resumo da mesma janela ({@link UserPageStamp}) que responde um 304
+ * da listagem. Todos rodam em transação somente leitura; compare tempo e
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserReadBenchmark {
+
+    private static final int SEEDED_USERS = 20_000;
+
+    @Param({"100", "5000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UserMapper userMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FoodmanagerApplication.class)
+                .run("--spring.profiles.active=test", "--server.port=0", "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        userRepository = context.getBean(UserRepository.class);
+        userMapper = context.getBean(UserMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(SEEDED_USERS);
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            rows.add(new Object[]{"Usuário " + i, "bench" + i + "@email.com", "bench" + i,
+                    "{bcrypt}$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi",
+                    "Rua " + i + ", Centro", "CUSTOMER", now});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO users (name, email, login, password, address, user_type, last_updated)
+                VALUES (?, ?, ?, ?, ?, ?, ?)""", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserResponse> managedEntities() {
+        return readOnly.execute(status -> {
+            List<User> users = entityManager
+                    .createQuery("select u from User u where u.id > :afterId order by u.id", User.class)
+                    .setParameter("afterId", 0L)
+                    .setMaxResults(size)
+                    .getResultList();
+            return userMapper.toResponseList(users);
+        });
+    }
+
+    @Benchmark
+    public List<UserResponse> projection() {
+        return readOnly.execute(status -> userRepository.findResponsePage(0L, Limit.of(size)));
+    }
+
+    @Benchmark
+    public UserPageStamp pageStamp() {
+        return readOnly.execute(status -> userRepository.findPageStamp(0L, size, null));
+    }
+}
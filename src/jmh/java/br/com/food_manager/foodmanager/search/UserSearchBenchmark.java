@@ -0,0 +1,125 @@
+package br.com.food_manager.foodmanager.search;
+
+import br.com.food_manager.foodmanager.FoodmanagerApplication;
+import br.com.food_manager.foodmanager.model.dto.SearchPage;
+import br.com.food_manager.foodmanager.model.dto.UserSearchHit;
+import br.com.food_manager.foodmanager.service.UserSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Busca de usuários no H2 em memória (perfil {@code test}, {@code app.user-search.engine=ngram})
+ * com 20 mil usuários: o índice de trigramas em memória contra uma varredura com
+ * {@code LIKE '%termo%'} nas três colunas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserSearchBenchmark {
+
+    private static final int SEEDED_USERS = 20_000;
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Carla", "Diego", "Elisa", "Fábio", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael", "Sofia",
+            "Tiago", "Vanessa", "William"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira"};
+    private static final String[] STREETS = {"Rua das Flores", "Av. Paulista", "Rua do Comércio", "Av. Brasil",
+            "Rua Central", "Av. Atlântica", "Rua da Paz", "Rua das Acácias", "Av. Sete de Setembro",
+            "Rua XV de Novembro", "Av. Beira Mar", "Rua dos Andradas", "Av. Independência", "Rua Augusta",
+            "Rua Oscar Freire"};
+    private static final String[] CITIES = {"São Paulo, SP", "Rio de Janeiro, RJ", "Belo Horizonte, MG",
+            "Porto Alegre, RS", "Curitiba, PR", "Salvador, BA", "Recife, PE", "Fortaleza, CE", "Brasília, DF",
+            "Florianópolis, SC"};
+
+    private static final String LIKE_TERM = "(LOWER(name) LIKE ? OR LOWER(email) LIKE ? OR LOWER(address) LIKE ?)";
+
+    @Param({"silva", "santos paulista", "gabriela rocha curitiba"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private UserSearchService userSearchService;
+    private JdbcTemplate jdbcTemplate;
+    private String likeScan;
+    private Object[] likePatterns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FoodmanagerApplication.class)
+                .run("--spring.profiles.active=test", "--server.port=0", "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        userSearchService = context.getBean(UserSearchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate);
+        List<String> terms = SearchTerms.parse(query);
+        likeScan = "SELECT id, name, email, login, last_updated, address, version FROM users WHERE "
+                + String.join(" AND ", Collections.nCopies(terms.size(), LIKE_TERM))
+                + " ORDER BY id LIMIT 21";
+        likePatterns = terms.stream()
+                .flatMap(term -> Stream.of("%" + term + "%", "%" + term + "%", "%" + term + "%"))
+                .toArray();
+        // Primeira busca constrói o índice fora da medição
+        userSearchService.search(query, 0, 20);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(SEEDED_USERS);
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            String first = FIRST_NAMES[i % FIRST_NAMES.length];
+            String last = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+            rows.add(new Object[]{first + " " + last, "user" + i + "@email.com", "user" + i,
+                    "{bcrypt}$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi",
+                    STREETS[i % STREETS.length] + ", " + i + " - " + CITIES[(i / 7) % CITIES.length],
+                    "CUSTOMER", now});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO users (name, email, login, password, address, user_type, last_updated)
+                VALUES (?, ?, ?, ?, ?, ?, ?)""", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SearchPage<UserSearchHit> ngramIndex() {
+        return userSearchService.search(query, 0, 20);
+    }
+
+    /**
+     * Todos os termos com {@code LIKE}, sem ranking e parando no 21º resultado: o mínimo que
+     * uma busca sem índice precisa fazer. Com termos frequentes a varredura termina cedo; com
+     * termos raros percorre a tabela inteira.
+     */
+    @Benchmark
+    public List<Map<String, Object>> likeScan() {
+        return jdbcTemplate.queryForList(likeScan, likePatterns);
+    }
+}
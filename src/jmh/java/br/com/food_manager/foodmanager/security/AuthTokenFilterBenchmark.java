@@ -0,0 +1,79 @@
+package br.com.food_manager.foodmanager.security;
+
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AuthTokenFilter} de ponta a ponta com uma cadeia simulada: extração do header,
+ * token em cache, filtro de revogação, versão do token e montagem da autenticação.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    private AuthTokenFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        JwtUtils jwtUtils = JwtUtilsBenchmark.newJwtUtils();
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findTokenVersionById(2L)).thenReturn(Optional.of(0));
+
+        filter = new AuthTokenFilter(jwtUtils, new TokenVersionRegistry(userRepository, 100_000, Duration.ofSeconds(30),
+                new SimpleMeterRegistry()),
+                new RevokedTokenFilter(1 << 20, new SimpleMeterRegistry()),
+                new AuthFailureLog(5, Duration.ofSeconds(10), new SimpleMeterRegistry()));
+
+        User user = new User("Maria Santos", "maria.santos@email.com", "maria.santos", "hash", null, "Av. Paulista, 456");
+        user.setId(2L);
+        user.setUserType(UserType.CUSTOMER);
+
+        request = new MockHttpServletRequest("GET", "/api/user/2");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateToken(user));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void authenticatedRequest() throws ServletException, IOException {
+        filter.doFilterInternal(request, response, chain);
+        SecurityContextHolder.clearContext();
+    }
+}
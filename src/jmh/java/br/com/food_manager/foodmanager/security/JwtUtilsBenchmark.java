@@ -0,0 +1,94 @@
+package br.com.food_manager.foodmanager.security;
+
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão e verificação de tokens de acesso: {@code validate} com o token já em cache
+ * (caso comum a cada requisição), a verificação completa de assinatura (primeiro uso do token)
+ * e a recusa de um token expirado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private static final MethodHandle VERIFY;
+
+    static {
+        try {
+            VERIFY = MethodHandles.privateLookupIn(JwtUtils.class, MethodHandles.lookup())
+                    .findVirtual(JwtUtils.class, "verify", MethodType.methodType(JwtValidation.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private JwtUtils jwtUtils;
+    private User user;
+    private String token;
+    private String expiredToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = newJwtUtils();
+        user = new User("Maria Santos", "maria.santos@email.com", "maria.santos", "hash", null, "Av. Paulista, 456");
+        user.setId(2L);
+        user.setUserType(UserType.CUSTOMER);
+        token = jwtUtils.generateToken(user);
+        jwtUtils.validate(token);
+
+        JwtUtils expiredJwtUtils = newJwtUtils();
+        ReflectionTestUtils.setField(expiredJwtUtils, "jwtExpirationMs", -60_000);
+        expiredToken = expiredJwtUtils.generateToken(user);
+    }
+
+    static JwtUtils newJwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "mySecretKeyThatIsAtLeast32CharactersLongForHS256");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheMaximumSize", 50_000L);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtValidation parseJwtTokenCached() {
+        return jwtUtils.validate(token);
+    }
+
+    @Benchmark
+    public JwtValidation verifySignature() throws Throwable {
+        return (JwtValidation) VERIFY.invokeExact(jwtUtils, token);
+    }
+
+    @Benchmark
+    public JwtValidation rejectExpired() {
+        return jwtUtils.validate(expiredToken);
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.food_manager.foodmanager.cache;
+
+import br.com.food_manager.foodmanager.config.datasource.PrimaryReads;
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import br.com.food_manager.foodmanager.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caches em memória, limitados por tamanho e por tempo de vida, das leituras de usuários:
+ * <ul>
+ *   <li>o usuário por ID e o ID por login, usados no login ({@code loadUserByUsername}), no
+ *   refresh e em {@code UserService.findById}/{@code findByLogin};</li>
+ *   <li>a resposta de leitura ({@link UserResponse}) por ID.</li>
+ * </ul>
+ * O cache guarda uma cópia desanexada do usuário, nunca a entidade gerenciada, e cada acerto
+ * devolve uma nova cópia. A remoção ({@link #evict}) é feita em toda escrita que muda o usuário,
+ * a senha ou a versão dos tokens e vale imediatamente nesta instância; nas demais, a entrada
+ * antiga dura no máximo o tempo de vida ({@code app.cache.users.ttl}), por isso curto.
+ * <p>
+ * As consultas que preenchem o cache vão sempre ao banco principal ({@link PrimaryReads}): uma
+ * réplica atrasada recolocaria no cache um dado já alterado ou excluído.
+ * Estatísticas de acerto, falha e remoção são publicadas como métricas {@code cache.*}.
+ */
+@Component
+public class UserCache {
+
+    private final Cache<Long, User> usersById;
+    private final Cache<String, Long> idsByLogin;
+    private final Cache<Long, UserResponse> responsesById;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserCache(@Value("${app.cache.users.maximum-size:10000}") long maximumSize,
+                     @Value("${app.cache.users.ttl:30s}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.usersById = newCache(maximumSize, ttl);
+        this.idsByLogin = newCache(maximumSize, ttl);
+        this.responsesById = newCache(maximumSize, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "usersById");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByLogin, "userIdsByLogin");
+        CaffeineCacheMetrics.monitor(meterRegistry, responsesById, "userResponsesById");
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> getById(Long id, Function<Long, Optional<User>> loader) {
+        User cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        return loadUser(() -> loader.apply(id));
+    }
+
+    /**
+     * O login aponta para o ID, e o usuário vem do cache por ID: remover o ID basta para
+     * invalidar as duas leituras. Um login alterado continua apontando para o ID antigo até
+     * expirar, por isso o login do usuário encontrado é conferido antes de usá-lo.
+     */
+    public Optional<User> getByLogin(String login, Function<String, Optional<User>> loader) {
+        Long id = idsByLogin.getIfPresent(login);
+        User cached = id != null ? usersById.getIfPresent(id) : null;
+        if (cached != null && login.equals(cached.getLogin())) {
+            return Optional.of(copyOf(cached));
+        }
+        return loadUser(() -> loader.apply(login));
+    }
+
+    /**
+     * A consulta ao banco é feita fora do {@code compute} do Caffeine: ele carrega o valor
+     * dentro de um bloco {@code synchronized}, o que prenderia a thread portadora durante todo
+     * o I/O quando a aplicação roda com threads virtuais.
+     * <p>
+     * Uma leitura que se sobrepõe a uma remoção (por exemplo, iniciada antes do commit de uma
+     * escrita) devolve o valor lido, mas não o deixa no cache.
+     */
+    public Optional<UserResponse> getResponseById(Long id, Function<Long, Optional<UserResponse>> loader) {
+        UserResponse cached = responsesById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long stamp = invalidations.get();
+        Optional<UserResponse> loaded = PrimaryReads.call(() -> loader.apply(id));
+        loaded.ifPresent(response -> {
+            responsesById.put(id, response);
+            if (invalidations.get() != stamp) {
+                responsesById.invalidate(id);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Remove o usuário do cache imediatamente e novamente após o commit da transação
+     * corrente, para que leituras concorrentes não recoloquem dados antigos.
+     */
+    public void evict(Long id) {
+        invalidate(id);
+        TransactionCallbacks.afterCommit(() -> invalidate(id));
+    }
+
+    private Optional<User> loadUser(Supplier<Optional<User>> loader) {
+        long stamp = invalidations.get();
+        Optional<User> loaded = PrimaryReads.call(loader);
+        loaded.ifPresent(user -> {
+            usersById.put(user.getId(), copyOf(user));
+            idsByLogin.put(user.getLogin(), user.getId());
+            if (invalidations.get() != stamp) {
+                usersById.invalidate(user.getId());
+            }
+        });
+        return loaded;
+    }
+
+    private void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        usersById.invalidate(id);
+        responsesById.invalidate(id);
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User(user.getName(), user.getEmail(), user.getLogin(), user.getPassword(),
+                user.getLastUpdated(), user.getAddress());
+        copy.setId(user.getId());
+        copy.setUserType(user.getUserType());
+        copy.setTokenVersion(user.getTokenVersion());
+        copy.setVersion(user.getVersion());
+        return copy;
+    }
+}
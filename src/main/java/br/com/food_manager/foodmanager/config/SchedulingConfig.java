@@ -0,0 +1,16 @@
+package br.com.food_manager.foodmanager.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Liga os jobs agendados (limpeza de refresh tokens e de revogações, expurgo de usuários).
+ * Desligável com {@code app.scheduling.enabled=false}, para testes que medem o banco sem
+ * interferência de outras threads.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
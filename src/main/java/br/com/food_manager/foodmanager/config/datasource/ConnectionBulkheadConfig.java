@@ -0,0 +1,53 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Envolve o DataSource principal em um {@link BulkheadDataSource}. Habilitado junto com as
+ * threads virtuais (perfil {@code vthreads}), quando o número de threads do Tomcat deixa de
+ * limitar o acesso concorrente ao pool de conexões.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.bulkhead.enabled", havingValue = "true")
+public class ConnectionBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionBulkheadPostProcessor(
+            @Value("${app.datasource.bulkhead.max-concurrent:0}") int maxConcurrent,
+            @Value("${app.datasource.bulkhead.max-waiting:200}") int maxWaiting,
+            @Value("${app.datasource.bulkhead.acquire-timeout:2s}") Duration acquireTimeout,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                int permits = maxConcurrent > 0 ? maxConcurrent : poolSize(dataSource);
+                return new BulkheadDataSource(dataSource, permits, maxWaiting, acquireTimeout, meterRegistry.getObject());
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // sem acesso ao pool: usa o tamanho padrão do Hikari
+        }
+        return 10;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Leituras que não podem vir de uma réplica atrasada: autenticação e leituras que alimentam
+ * caches em memória, que guardariam o dado antigo por todo o tempo de vida da entrada.
+ * Dentro de {@link #call} as transações somente leitura usam o banco principal.
+ * <p>
+ * Vale para as conexões obtidas durante a chamada. Como o
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} só obtém a conexão
+ * física no primeiro comando, uma transação já aberta também vai ao principal desde que ainda
+ * não tenha executado nenhum comando.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {}
+
+    public static <T> T call(Supplier<T> read) {
+        if (ACTIVE.get() != null) {
+            return read.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
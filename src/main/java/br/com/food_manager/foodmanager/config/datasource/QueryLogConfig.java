@@ -0,0 +1,59 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Envolve o DataSource principal em um proxy JDBC que repassa cada comando ao
+ * {@link QueryLogListener}. Roda depois do {@link ReplicaRoutingConfig}, de modo que as
+ * consultas às réplicas também são medidas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.query-log.enabled", havingValue = "true")
+public class QueryLogConfig {
+
+    @Bean
+    public static QueryLogPostProcessor queryLogPostProcessor(Environment environment,
+                                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        QueryLogProperties properties = Binder.get(environment)
+                .bindOrCreate("app.datasource.query-log", QueryLogProperties.class);
+        return new QueryLogPostProcessor(properties, meterRegistry);
+    }
+
+    static class QueryLogPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final QueryLogProperties properties;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        QueryLogPostProcessor(QueryLogProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.properties = properties;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new QueryLogListener(properties, meterRegistry.getObject()))
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede cada comando JDBC no timer {@code foodmanager.db.query}, com as tags {@code shape},
+ * {@code operation}, {@code table} e {@code outcome}, e registra no log as consultas lentas
+ * (WARN) e uma amostra das demais (INFO). Substitui o {@code show-sql}, que escrevia toda
+ * consulta no console.
+ * <p>
+ * O log traz o formato da consulta ({@link QueryShape}), sem valores literais, e apenas os
+ * tipos dos parâmetros: nenhum valor informado pelo usuário chega ao log. O formato de cada
+ * consulta é calculado uma vez e reaproveitado pelo texto original do comando.
+ */
+public class QueryLogListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryLogListener.class);
+    private static final String START_NANOS = QueryLogListener.class.getName() + ".start";
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxShapes;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, ShapeMeters> bySql = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ShapeMeters> byShape = new ConcurrentHashMap<>();
+    private final ShapeMeters other;
+
+    public QueryLogListener(QueryLogProperties properties, MeterRegistry meterRegistry) {
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.sampleRate = properties.sampleRate();
+        this.maxShapes = properties.maxShapes();
+        this.meterRegistry = meterRegistry;
+        this.other = new ShapeMeters(QueryShape.OTHER, meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        ShapeMeters first = null;
+        for (QueryInfo query : queryInfoList) {
+            ShapeMeters meters = meters(query.getQuery());
+            (execInfo.isSuccess() ? meters.succeeded : meters.failed()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (first == null) {
+                first = meters;
+            }
+        }
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            log(Level.WARN, "Consulta lenta", first.shape, execInfo, queryInfoList.get(0), elapsedNanos);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log(Level.INFO, "Consulta amostrada", first.shape, execInfo, queryInfoList.get(0), elapsedNanos);
+        }
+    }
+
+    private ShapeMeters meters(String sql) {
+        ShapeMeters meters = bySql.get(sql);
+        if (meters != null) {
+            return meters;
+        }
+        QueryShape shape = QueryShape.of(sql);
+        meters = byShape.get(shape.sql());
+        if (meters == null) {
+            meters = byShape.size() < maxShapes
+                    ? byShape.computeIfAbsent(shape.sql(), normalized -> newShape(shape))
+                    : other;
+        }
+        if (bySql.size() < maxShapes * 4) {
+            bySql.putIfAbsent(sql, meters);
+        }
+        return meters;
+    }
+
+    private ShapeMeters newShape(QueryShape shape) {
+        logger.atDebug()
+                .addKeyValue("shape", shape.id())
+                .log("Novo formato de consulta {}: {}", shape.id(), shape.sql());
+        return new ShapeMeters(shape, meterRegistry);
+    }
+
+    private void log(Level level, String message, QueryShape shape, ExecutionInfo execInfo, QueryInfo query,
+                     long elapsedNanos) {
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        double elapsedMs = elapsedNanos / 1_000_000.0;
+        String sql = shape == QueryShape.OTHER ? QueryShape.normalize(query.getQuery()) : shape.sql();
+        LoggingEventBuilder event = logger.atLevel(level)
+                .addKeyValue("shape", shape.id())
+                .addKeyValue("operation", shape.operation())
+                .addKeyValue("table", shape.table())
+                .addKeyValue("elapsedMs", elapsedMs)
+                .addKeyValue("success", execInfo.isSuccess());
+        if (execInfo.isBatch()) {
+            event = event.addKeyValue("batchSize", execInfo.getBatchSize());
+        }
+        event.log("{} ({} ms, formato {}): {} parâmetros {}", message, Math.round(elapsedMs),
+                shape.id(), sql, parameterTypes(execInfo, query));
+    }
+
+    /** Tipos dos parâmetros do primeiro conjunto (em lotes, apenas o número de linhas). */
+    private static String parameterTypes(ExecutionInfo execInfo, QueryInfo query) {
+        List<List<ParameterSetOperation>> parameters = query.getParametersList();
+        if (parameters.isEmpty()) {
+            return "[]";
+        }
+        StringJoiner types = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : parameters.get(0)) {
+            Object[] args = operation.getArgs();
+            Object value = args.length > 1 && !ParameterSetOperation.isSetNullParameterOperation(operation) ? args[1] : null;
+            types.add(value == null ? "null" : value.getClass().getSimpleName());
+        }
+        return execInfo.isBatch() ? types + " x " + parameters.size() : types.toString();
+    }
+
+    /** Timers de um formato; o de falhas só é registrado na primeira falha. */
+    private static final class ShapeMeters {
+
+        private final QueryShape shape;
+        private final MeterRegistry meterRegistry;
+        private final Timer succeeded;
+        private volatile Timer failed;
+
+        ShapeMeters(QueryShape shape, MeterRegistry meterRegistry) {
+            this.shape = shape;
+            this.meterRegistry = meterRegistry;
+            this.succeeded = timer("success");
+        }
+
+        Timer failed() {
+            Timer timer = failed;
+            if (timer == null) {
+                timer = timer("error");
+                failed = timer;
+            }
+            return timer;
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder("foodmanager.db.query")
+                    .description("Execução de comandos SQL, por formato de consulta")
+                    .tag("shape", shape.id())
+                    .tag("operation", shape.operation())
+                    .tag("table", shape.table())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
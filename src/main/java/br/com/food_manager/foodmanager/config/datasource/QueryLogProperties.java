@@ -0,0 +1,23 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Log e métricas das consultas SQL ({@code app.datasource.query-log.*}).
+ *
+ * @param enabled       liga a interceptação das consultas no DataSource principal
+ * @param slowThreshold duração a partir da qual toda consulta é registrada no log (WARN)
+ * @param sampleRate    fração das demais consultas registradas no log (INFO), de 0 a 1
+ * @param maxShapes     formatos distintos de consulta com métricas próprias; os excedentes
+ *                      são agrupados no formato {@code other}
+ */
+@ConfigurationProperties("app.datasource.query-log")
+public record QueryLogProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100ms") Duration slowThreshold,
+        @DefaultValue("0") double sampleRate,
+        @DefaultValue("300") int maxShapes
+) {}
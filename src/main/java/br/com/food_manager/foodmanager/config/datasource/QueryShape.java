@@ -0,0 +1,112 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import java.util.Locale;
+
+/**
+ * Formato de uma consulta SQL: o texto sem valores literais, com espaços normalizados e listas
+ * de parâmetros como {@code in (?, ?, ?)} reduzidas a {@code in (?)}. Consultas que diferem
+ * apenas nos valores ou no tamanho das listas têm o mesmo formato.
+ *
+ * @param id        hash curto do texto normalizado, usado como tag das métricas
+ * @param operation primeira palavra da consulta ({@code select}, {@code insert}...)
+ * @param table     primeira tabela lida ou escrita, quando identificável
+ * @param sql       texto normalizado, sem valores, seguro para o log
+ */
+record QueryShape(String id, String operation, String table, String sql) {
+
+    static final QueryShape OTHER = new QueryShape("other", "other", "other", "");
+
+    static QueryShape of(String sql) {
+        String normalized = normalize(sql);
+        String lower = normalized.toLowerCase(Locale.ROOT);
+        String operation = firstWord(lower, 0);
+        return new QueryShape(String.format("%08x", normalized.hashCode()),
+                operation.isEmpty() ? "other" : operation, table(lower, operation), normalized);
+    }
+
+    static String normalize(String sql) {
+        StringBuilder normalized = new StringBuilder(sql.length());
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (!normalized.isEmpty() && i < sql.length()) {
+                    normalized.append(' ');
+                }
+            } else if (c == '\'') {
+                i++;
+                while (i < sql.length() && (sql.charAt(i) != '\'' || (i + 1 < sql.length() && sql.charAt(i + 1) == '\''))) {
+                    i += sql.charAt(i) == '\'' || sql.charAt(i) == '\\' ? 2 : 1;
+                }
+                i++;
+                appendParameter(normalized);
+            } else if (Character.isDigit(c) && !partOfIdentifier(normalized)) {
+                while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                appendParameter(normalized);
+            } else if (c == '?') {
+                i++;
+                appendParameter(normalized);
+            } else {
+                normalized.append(c);
+                i++;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /** Acrescenta um {@code ?}, a menos que ele apenas continue uma lista {@code ?, ?}. */
+    private static void appendParameter(StringBuilder normalized) {
+        int end = normalized.length();
+        int last = end - 1;
+        while (last >= 0 && normalized.charAt(last) == ' ') {
+            last--;
+        }
+        if (last >= 1 && normalized.charAt(last) == ',') {
+            int previous = last - 1;
+            while (previous >= 0 && normalized.charAt(previous) == ' ') {
+                previous--;
+            }
+            if (previous >= 0 && normalized.charAt(previous) == '?') {
+                normalized.setLength(previous + 1);
+                return;
+            }
+        }
+        normalized.append('?');
+    }
+
+    private static boolean partOfIdentifier(StringBuilder normalized) {
+        if (normalized.isEmpty()) {
+            return false;
+        }
+        char previous = normalized.charAt(normalized.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '.' || previous == '`';
+    }
+
+    private static String table(String lower, String operation) {
+        String keyword = switch (operation) {
+            case "select", "delete" -> " from ";
+            case "insert", "replace" -> " into ";
+            case "update" -> "update ";
+            default -> null;
+        };
+        int index = keyword == null ? -1 : lower.indexOf(keyword);
+        if (index < 0) {
+            return "other";
+        }
+        String table = firstWord(lower, index + keyword.length()).replace("`", "").replace("\"", "");
+        return table.isEmpty() || table.startsWith("(") ? "other" : table;
+    }
+
+    private static String firstWord(String text, int from) {
+        int end = from;
+        while (end < text.length() && !Character.isWhitespace(text.charAt(end)) && text.charAt(end) != '(') {
+            end++;
+        }
+        return text.substring(from, end);
+    }
+}
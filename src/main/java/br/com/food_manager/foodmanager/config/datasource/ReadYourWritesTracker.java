@@ -0,0 +1,61 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Lembra quais clientes escreveram no banco principal há pouco tempo, para que as leituras
+ * seguintes desses clientes não caiam em uma réplica que ainda não recebeu a escrita.
+ * <p>
+ * O cliente é o login autenticado ou, em requisições anônimas (cadastro seguido de login),
+ * o endereço IP. Fora de uma requisição não há cliente e nada é registrado.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(Duration window, LongSupplier clock) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Identifica o cliente da requisição corrente, ou nulo quando não há requisição.
+     */
+    public String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return "ip:" + attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    public void recordWrite(String client) {
+        if (client != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently(String client) {
+        return client != null && recentWriters.getIfPresent(client) != null;
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envolve o DataSource principal em um {@link ReplicaRoutingDataSource} atrás de um
+ * {@link LazyConnectionDataSourceProxy}, criando um pool Hikari para cada réplica configurada.
+ * <p>
+ * Roda antes do {@link ConnectionBulkheadConfig}, de modo que o bulkhead, quando habilitado,
+ * limita as conexões de todas as rotas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public static ReplicaRoutingPostProcessor replicaRoutingPostProcessor(Environment environment,
+                                                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        ReplicaRoutingProperties properties = Binder.get(environment)
+                .bindOrCreate("app.datasource.replicas", ReplicaRoutingProperties.class);
+        return new ReplicaRoutingPostProcessor(properties, environment, meterRegistry);
+    }
+
+    static class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private final ReplicaRoutingProperties properties;
+        private final Environment environment;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final List<HikariDataSource> replicaPools = new ArrayList<>();
+
+        ReplicaRoutingPostProcessor(ReplicaRoutingProperties properties, Environment environment,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+            this.properties = properties;
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                return bean;
+            }
+            if (properties.urls().isEmpty()) {
+                throw new IllegalStateException("app.datasource.replicas.urls deve ter ao menos uma URL");
+            }
+
+            MeterRegistry registry = meterRegistry.getObject();
+            for (int i = 0; i < properties.urls().size(); i++) {
+                replicaPools.add(replicaPool(i + 1, properties.urls().get(i), registry));
+            }
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.copyOf(replicaPools),
+                    new ReadYourWritesTracker(properties.readYourWritesWindow()),
+                    properties.failureBackoff(), registry);
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+
+        /**
+         * Uma réplica fora do ar não impede a inicialização: o pool é criado sem conexões e a
+         * falha aparece apenas no primeiro pedido, quando a leitura é desviada para o principal.
+         * As propriedades do driver ({@code spring.datasource.hikari.data-source-properties}) são
+         * as mesmas do principal: é nas réplicas que a exportação em streaming é lida.
+         */
+        private HikariDataSource replicaPool(int number, String url, MeterRegistry registry) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + number);
+            config.setJdbcUrl(url);
+            config.setUsername(StringUtils.hasText(properties.username())
+                    ? properties.username() : environment.getProperty("spring.datasource.username"));
+            config.setPassword(StringUtils.hasText(properties.password())
+                    ? properties.password() : environment.getProperty("spring.datasource.password"));
+            config.setDriverClassName(environment.getProperty("spring.datasource.driver-class-name"));
+            Binder.get(environment)
+                    .bind("spring.datasource.hikari.data-source-properties", Bindable.mapOf(String.class, String.class))
+                    .orElse(Map.of())
+                    .forEach(config::addDataSourceProperty);
+            config.setMaximumPoolSize(properties.poolSize());
+            config.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            config.setInitializationFailTimeout(-1);
+            config.setReadOnly(true);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            return new HikariDataSource(config);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void destroy() {
+            replicaPools.forEach(HikariDataSource::close);
+        }
+    }
+}
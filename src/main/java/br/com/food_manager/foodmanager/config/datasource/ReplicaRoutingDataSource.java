@@ -0,0 +1,166 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import br.com.food_manager.foodmanager.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Envia as conexões de transações somente leitura ({@code @Transactional(readOnly = true)})
+ * para as réplicas, em rodízio, e todo o resto para o banco principal.
+ * <p>
+ * A decisão depende da transação já estar marcada como somente leitura, o que o Spring só faz
+ * depois de pedir a conexão; por isso esta classe deve ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, que adia a obtenção
+ * da conexão física até o primeiro comando.
+ * <p>
+ * Uma réplica que falha ao entregar conexão fica fora do rodízio por {@code failureBackoff};
+ * sem réplica disponível a leitura vai para o principal. Clientes que escreveram há pouco
+ * ({@link ReadYourWritesTracker}) e leituras feitas dentro de {@link PrimaryReads#call} também
+ * leem do principal.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final long failureBackoffNanos;
+    private final LongSupplier clock;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+    private final Counter pinned;
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker readYourWrites,
+                                    Duration failureBackoff, MeterRegistry meterRegistry) {
+        this(primary, replicas, readYourWrites, failureBackoff, meterRegistry, System::nanoTime);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker readYourWrites,
+                             Duration failureBackoff, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        this.failureBackoffNanos = failureBackoff.toNanos();
+        this.clock = clock;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica(replicas.get(i), Counter.builder("foodmanager.datasource.replica.failures")
+                        .description("Falhas ao obter conexão da réplica")
+                        .tag("replica", String.valueOf(i + 1))
+                        .register(meterRegistry)))
+                .toList();
+        this.fallbacks = Counter.builder("foodmanager.datasource.replica.fallbacks")
+                .description("Leituras enviadas ao banco principal por falta de réplica disponível")
+                .register(meterRegistry);
+        this.pinned = Counter.builder("foodmanager.datasource.replica.read-your-writes")
+                .description("Leituras enviadas ao banco principal após escrita recente do mesmo cliente")
+                .register(meterRegistry);
+        this.primaryReads = Counter.builder("foodmanager.datasource.replica.primary-reads")
+                .description("Leituras que exigem o banco principal (autenticação e preenchimento de caches)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return opener.open(primary);
+        }
+
+        String client = readYourWrites.currentClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionCallbacks.afterCommit(() -> readYourWrites.recordWrite(client));
+            return opener.open(primary);
+        }
+        if (PrimaryReads.isActive()) {
+            primaryReads.increment();
+            return opener.open(primary);
+        }
+        if (readYourWrites.wroteRecently(client)) {
+            pinned.increment();
+            return opener.open(primary);
+        }
+        return replicaConnection(opener);
+    }
+
+    private Connection replicaConnection(ConnectionOpener opener) throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isDown(clock.getAsLong())) {
+                continue;
+            }
+            try {
+                return opener.open(replica.dataSource);
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(clock.getAsLong() + failureBackoffNanos);
+                logger.warn("Réplica indisponível, leituras desviadas por {} ms: {}",
+                        failureBackoffNanos / 1_000_000, e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return opener.open(primary);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private final Counter failures;
+        private volatile long downUntil;
+        private volatile boolean down;
+
+        private Replica(DataSource dataSource, Counter failures) {
+            this.dataSource = dataSource;
+            this.failures = failures;
+        }
+
+        private boolean isDown(long now) {
+            return down && now - downUntil < 0;
+        }
+
+        private void markDown(long until) {
+            failures.increment();
+            downUntil = until;
+            down = true;
+        }
+    }
+}
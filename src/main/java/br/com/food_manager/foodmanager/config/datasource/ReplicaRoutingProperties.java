@@ -0,0 +1,31 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Réplicas de leitura ({@code app.datasource.replicas.*}).
+ *
+ * @param enabled              liga o roteamento de transações somente leitura para as réplicas
+ * @param urls                 URLs JDBC das réplicas, usadas em rodízio
+ * @param username             usuário das réplicas; vazio usa o mesmo do banco principal
+ * @param password             senha das réplicas; vazia usa a mesma do banco principal
+ * @param poolSize             conexões por réplica
+ * @param connectionTimeout    espera máxima por uma conexão da réplica antes de tentar a próxima
+ * @param failureBackoff       tempo em que uma réplica que falhou deixa de receber leituras
+ * @param readYourWritesWindow tempo após uma escrita em que as leituras do mesmo cliente vão ao principal
+ */
+@ConfigurationProperties("app.datasource.replicas")
+public record ReplicaRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<String> urls,
+        String username,
+        String password,
+        @DefaultValue("5") int poolSize,
+        @DefaultValue("1s") Duration connectionTimeout,
+        @DefaultValue("30s") Duration failureBackoff,
+        @DefaultValue("5s") Duration readYourWritesWindow
+) {}
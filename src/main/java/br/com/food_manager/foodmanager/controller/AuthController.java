@@ -5,16 +5,23 @@ import br.com.food_manager.foodmanager.model.User;
 import br.com.food_manager.foodmanager.model.UserType;
 import br.com.food_manager.foodmanager.model.dto.JwtResponse;
 import br.com.food_manager.foodmanager.model.dto.LoginRequest;
+import br.com.food_manager.foodmanager.model.dto.RefreshTokenRequest;
 import br.com.food_manager.foodmanager.model.dto.UserRequest;
 import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import br.com.food_manager.foodmanager.security.JwtPrincipal;
 import br.com.food_manager.foodmanager.security.JwtUtils;
+import br.com.food_manager.foodmanager.security.LoginRateLimiter;
+import br.com.food_manager.foodmanager.security.RevokedTokenFilter;
+import br.com.food_manager.foodmanager.service.RefreshTokenService;
 import br.com.food_manager.foodmanager.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -33,14 +40,22 @@ public class AuthController implements AuthControllerDoc {
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
     private final UserMapper userMapper;
+    private final LoginRateLimiter loginRateLimiter;
+    private final RefreshTokenService refreshTokenService;
+    private final RevokedTokenFilter revokedTokenFilter;
 
     public AuthController(UserService userService, PasswordEncoder passwordEncoder,
-                          AuthenticationManager authenticationManager, JwtUtils jwtUtils, UserMapper userMapper) {
+                          AuthenticationManager authenticationManager, JwtUtils jwtUtils, UserMapper userMapper,
+                          LoginRateLimiter loginRateLimiter, RefreshTokenService refreshTokenService,
+                          RevokedTokenFilter revokedTokenFilter) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
         this.userMapper = userMapper;
+        this.loginRateLimiter = loginRateLimiter;
+        this.refreshTokenService = refreshTokenService;
+        this.revokedTokenFilter = revokedTokenFilter;
     }
 
     @PostMapping("/register")
@@ -57,18 +72,43 @@ public class AuthController implements AuthControllerDoc {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<JwtResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        loginRateLimiter.checkAttempt(request.getRemoteAddr(), loginRequest.login());
+
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(loginRequest.login(), loginRequest.password())
             );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = jwtUtils.generateJwtToken(authentication);
+            User user = (User) authentication.getPrincipal();
+            String jwt = jwtUtils.generateToken(user);
+            String refreshToken = refreshTokenService.issue(user);
+
+            return ResponseEntity.ok(new JwtResponse(jwt, "Bearer", loginRequest.login(), refreshToken));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(401).body(new JwtResponse("", "", "Invalid credentials", null));
+        }
+    }
 
-            return ResponseEntity.ok(new JwtResponse(jwt, "Bearer", loginRequest.login()));
-        } catch (Exception e) {
-            return ResponseEntity.status(401).body(new JwtResponse("", "", "Invalid credentials"));
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        User user = refreshTokenService.consume(request.refreshToken());
+        String jwt = jwtUtils.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user);
+
+        return ResponseEntity.ok(new JwtResponse(jwt, "Bearer", user.getLogin(), refreshToken));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshTokenRequest request,
+                                       Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            revokedTokenFilter.revoke(principal.tokenId(), principal.expiresAt());
+        }
+        if (request != null) {
+            refreshTokenService.revoke(request.refreshToken());
         }
+        return ResponseEntity.noContent().build();
     }
 }
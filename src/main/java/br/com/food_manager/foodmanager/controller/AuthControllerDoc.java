@@ -5,13 +5,16 @@ import br.com.food_manager.foodmanager.model.dto.UserRequest;
 import br.com.food_manager.foodmanager.model.dto.UserResponse;
 import br.com.food_manager.foodmanager.model.dto.LoginRequest;
 import br.com.food_manager.foodmanager.model.dto.JwtResponse;
+import br.com.food_manager.foodmanager.model.dto.RefreshTokenRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.RequestBody;
 
 @Tag(name = "Autenticação", description = "Controller para autenticação e registro de usuários")
@@ -77,6 +80,14 @@ public interface AuthControllerDoc {
                                     schema = @Schema(implementation = JwtResponse.class)
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "429", 
+                            description = "Muitas tentativas de login para este usuário ou IP",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500", 
                             description = "Erro interno do servidor",
@@ -84,8 +95,62 @@ public interface AuthControllerDoc {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorResponse.class)
                             )
+                    ),
+                    @ApiResponse(
+                            responseCode = "503", 
+                            description = "Serviço de autenticação sobrecarregado, tente novamente",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    ResponseEntity<JwtResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request);
+
+    @Operation(
+            summary = "Renovar token de acesso",
+            description = "Troca um refresh token válido por um novo token de acesso e um novo refresh token. "
+                    + "O refresh token usado é revogado; reutilizá-lo revoga todos os refresh tokens do usuário",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", 
+                            description = "Tokens renovados com sucesso",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = JwtResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", 
+                            description = "Refresh token não informado",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401", 
+                            description = "Refresh token inválido, expirado ou revogado",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    ResponseEntity<JwtResponse> refresh(@Valid @RequestBody RefreshTokenRequest request);
+
+    @Operation(
+            summary = "Realizar logout",
+            description = "Revoga o token de acesso enviado no header Authorization e, se informado, o refresh token",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204", 
+                            description = "Tokens revogados com sucesso"
                     )
             }
     )
-    ResponseEntity<JwtResponse> login(@RequestBody LoginRequest loginRequest);
+    ResponseEntity<Void> logout(@RequestBody(required = false) RefreshTokenRequest request,
+                                Authentication authentication);
 }
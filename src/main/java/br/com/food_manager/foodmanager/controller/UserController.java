@@ -1,42 +1,121 @@
 package br.com.food_manager.foodmanager.controller;
 
+import br.com.food_manager.foodmanager.exception.InvalidUserDataException;
+import br.com.food_manager.foodmanager.mapper.UserImportReader;
 import br.com.food_manager.foodmanager.mapper.UserMapper;
 import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
 import br.com.food_manager.foodmanager.model.dto.ChangePasswordRequest;
+import br.com.food_manager.foodmanager.model.dto.CursorPage;
+import br.com.food_manager.foodmanager.model.dto.SearchPage;
+import br.com.food_manager.foodmanager.model.dto.UserBulkDeleteRequest;
+import br.com.food_manager.foodmanager.model.dto.UserBulkDeleteResult;
+import br.com.food_manager.foodmanager.model.dto.UserImportResult;
+import br.com.food_manager.foodmanager.model.dto.UserPageStamp;
 import br.com.food_manager.foodmanager.model.dto.UserRequest;
 import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import br.com.food_manager.foodmanager.model.dto.UserSearchHit;
 import br.com.food_manager.foodmanager.model.dto.UserUpdateRequest;
+import br.com.food_manager.foodmanager.service.UserImportService;
+import br.com.food_manager.foodmanager.service.UserSearchService;
 import br.com.food_manager.foodmanager.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/user")
 public class UserController implements UserControllerDoc {
+    /** Permite guardar a resposta, mas exige revalidação com If-None-Match a cada uso. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
     private final UserMapper userMapper;
+    private final UserImportService userImportService;
+    private final UserSearchService userSearchService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService, UserMapper userMapper) {
+    public UserController(UserService userService, UserMapper userMapper, UserImportService userImportService,
+                          UserSearchService userSearchService, ObjectMapper objectMapper) {
         this.userService = userService;
         this.userMapper = userMapper;
+        this.userImportService = userImportService;
+        this.userSearchService = userSearchService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponse>> findAll() {
-        List<User> users = userService.findAll();
-        List<UserResponse> response = userMapper.toResponseList(users);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CursorPage<UserResponse>> findAll(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) UserType userType,
+            WebRequest webRequest) {
+
+        UserPageStamp stamp = userService.pageStamp(afterId, size, userType);
+        if (webRequest.checkNotModified(listETag(afterId, size, userType, stamp))) {
+            return null;
+        }
+        CursorPage<UserResponse> page = userService.findAll(afterId, size, userType);
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .body(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<UserSearchHit>> searchUsers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + UserSearchService.DEFAULT_PAGE_SIZE) int size) {
+
+        return ResponseEntity.ok(userSearchService.search(query, page, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"");
+
+        // Cada registro termina com '\n', inclusive o último, como pede o NDJSON
+        ObjectWriter writer = objectMapper.writerFor(UserResponse.class);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            userService.forEachUser(user -> {
+                try {
+                    writer.writeValue(generator, userMapper.toResponse(user));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUser(@PathVariable Long id) {
-        User user = userService.findById(id);
-        UserResponse response = userMapper.toResponse(user);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<UserResponse> getUser(@PathVariable Long id, WebRequest webRequest) {
+        UserResponse response = userService.findResponseById(id);
+        long lastModified = response.lastUpdated() != null ? response.lastUpdated().getTime() : -1;
+        if (webRequest.checkNotModified(String.valueOf(response.version()), lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .body(response);
     }
 
     @PostMapping
@@ -47,23 +126,71 @@ public class UserController implements UserControllerDoc {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<UserImportResult> importUsersFromJson(HttpServletRequest request) throws IOException {
+        UserImportResult result = userImportService.importUsers(
+                UserImportReader.fromJson(objectMapper, request.getInputStream()));
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<UserImportResult> importUsersFromCsv(HttpServletRequest request) throws IOException {
+        UserImportResult result = userImportService.importUsers(UserImportReader.fromCsv(request.getInputStream()));
+        return ResponseEntity.ok(result);
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UserUpdateRequest userUpdateRequest) {
 
         User userUpdates = userMapper.toEntityForUpdate(userUpdateRequest);
-        User updated = userService.update(id, userUpdates);
-        UserResponse response = userMapper.toResponse(updated);
+        Long expectedVersion = expectedVersion(ifMatch, userUpdateRequest.version());
+        UserResponse response = userService.update(id, userUpdates, expectedVersion);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * A versão vem do header {@code If-Match} (o ETag devolvido por {@code GET /api/user/{id}})
+     * ou do campo {@code version}; se vierem os dois, precisam coincidir. A ausência de ambos é
+     * recusada com 428 pelo serviço.
+     */
+    private static Long expectedVersion(String ifMatch, Long bodyVersion) {
+        if (ifMatch == null) {
+            return bodyVersion;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+
+        long version;
+        try {
+            version = Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new InvalidUserDataException("If-Match deve conter o ETag de um único usuário");
+        }
+        if (bodyVersion != null && bodyVersion != version) {
+            throw new InvalidUserDataException("If-Match e version informam versões diferentes");
+        }
+        return version;
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         userService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<UserBulkDeleteResult> deleteUsers(@Valid @RequestBody UserBulkDeleteRequest request) {
+        return ResponseEntity.ok(userService.deleteByIds(request.ids()));
+    }
+
     @PutMapping("/{id}/password")
     public ResponseEntity<Void> changePassword(
             @PathVariable Long id,
@@ -72,4 +199,16 @@ public class UserController implements UserControllerDoc {
         userService.changePassword(id, request.currentPassword(), request.newPassword());
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Calculado a partir do resumo da página, lido antes dela: o 304 custa uma consulta agregada
+     * sobre a mesma janela de IDs, sem ler nem serializar os usuários. Uma escrita entre as duas
+     * consultas deixa o ETag mais antigo que o corpo, e a requisição seguinte apenas recebe a
+     * página de novo; o contrário (um 304 para um corpo desatualizado) não acontece.
+     */
+    private static String listETag(Long afterId, int size, UserType userType, UserPageStamp stamp) {
+        String key = afterId + ":" + size + ":" + userType + ":" + stamp.count() + ":" + stamp.idSum() + ":"
+                + stamp.versionSum() + ":" + (stamp.lastUpdated() != null ? stamp.lastUpdated().getTime() : "");
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -1,35 +1,128 @@
 package br.com.food_manager.foodmanager.controller;
 
 import br.com.food_manager.foodmanager.exception.ErrorResponse;
+import br.com.food_manager.foodmanager.model.UserType;
 import br.com.food_manager.foodmanager.model.dto.ChangePasswordRequest;
+import br.com.food_manager.foodmanager.model.dto.CursorPage;
+import br.com.food_manager.foodmanager.model.dto.SearchPage;
+import br.com.food_manager.foodmanager.model.dto.UserBulkDeleteRequest;
+import br.com.food_manager.foodmanager.model.dto.UserBulkDeleteResult;
+import br.com.food_manager.foodmanager.model.dto.UserImportResult;
 import br.com.food_manager.foodmanager.model.dto.UserRequest;
 import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import br.com.food_manager.foodmanager.model.dto.UserSearchHit;
 import br.com.food_manager.foodmanager.model.dto.UserUpdateRequest;
+import br.com.food_manager.foodmanager.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
 
 @Tag(name = "Usuários", description = "Controller para gerenciamento de usuários")
 public interface UserControllerDoc {
 
     @Operation(
-            summary = "Buscar todos os usuários",
-            description = "Retorna uma lista completa de usuários cadastrados no sistema",
+            summary = "Listar usuários",
+            description = "Retorna os usuários em ordem de ID, paginados por cursor. Para a próxima página, "
+                    + "envie o nextCursor da resposta no parâmetro afterId. A resposta traz um ETag calculado "
+                    + "a partir de um resumo dos usuários da página; reenviado em If-None-Match, devolve 304 sem "
+                    + "corpo, e sem ler a página, enquanto nenhum deles mudar",
             responses = {
                     @ApiResponse(
                             responseCode = "200", 
-                            description = "Lista de usuários retornada com sucesso",
+                            description = "Página de usuários retornada com sucesso",
                             content = @Content(
                                     mediaType = "application/json",
-                                    array = @ArraySchema(schema = @Schema(implementation = UserResponse.class))
+                                    schema = @Schema(implementation = CursorPage.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Conteúdo não mudou desde o ETag ou a data informados"
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", 
+                            description = "Tamanho de página ou filtro inválido",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500", 
+                            description = "Erro interno do servidor",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    ResponseEntity<CursorPage<UserResponse>> findAll(
+            @Parameter(description = "ID do último usuário da página anterior") @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Usuários por página (1 a 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Filtrar por tipo de usuário") @RequestParam(required = false) UserType userType,
+            WebRequest webRequest);
+
+    @Operation(
+            summary = "Buscar usuários por texto",
+            description = "Busca usuários com palavras no nome, email ou endereço que comecem por cada um dos "
+                    + "termos informados (ao menos 3 caracteres cada), ordenados por relevância. No MySQL usa o "
+                    + "índice FULLTEXT com termos por prefixo; no banco embarcado, um índice de trigramas em memória",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resultados da busca retornados com sucesso",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = SearchPage.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Busca sem termos válidos ou página fora do limite",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Erro interno do servidor",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    ResponseEntity<SearchPage<UserSearchHit>> searchUsers(
+            @Parameter(description = "Texto da busca", example = "maria paulista") @RequestParam("q") String query,
+            @Parameter(description = "Número da página, a partir de 0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Resultados por página (1 a 50)") @RequestParam(defaultValue = "20") int size);
+
+    @Operation(
+            summary = "Exportar usuários",
+            description = "Exporta todos os usuários em JSON delimitado por linha (NDJSON), um usuário por linha "
+                    + "em ordem de ID. O conteúdo é transmitido à medida que é lido do banco",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", 
+                            description = "Exportação transmitida com sucesso",
+                            content = @Content(
+                                    mediaType = "application/x-ndjson",
+                                    schema = @Schema(implementation = UserResponse.class)
                             )
                     ),
                     @ApiResponse(
@@ -42,11 +135,13 @@ public interface UserControllerDoc {
                     )
             }
     )
-    ResponseEntity<List<UserResponse>> findAll();
+    void exportUsers(HttpServletResponse response) throws IOException;
 
     @Operation(
             summary = "Buscar usuário por ID",
-            description = "Retorna um usuário específico baseado no ID fornecido",
+            description = "Retorna um usuário específico baseado no ID fornecido. O ETag é a versão do usuário "
+                    + "e Last-Modified a data da última atualização; com If-None-Match ou If-Modified-Since "
+                    + "atendidos, responde 304 sem corpo",
             responses = {
                     @ApiResponse(
                             responseCode = "200", 
@@ -56,6 +151,10 @@ public interface UserControllerDoc {
                                     schema = @Schema(implementation = UserResponse.class)
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Conteúdo não mudou desde o ETag ou a data informados"
+                    ),
                     @ApiResponse(
                             responseCode = "400", 
                             description = "ID inválido fornecido",
@@ -82,7 +181,7 @@ public interface UserControllerDoc {
                     )
             }
     )
-    ResponseEntity<UserResponse> getUser(@PathVariable Long id);
+    ResponseEntity<UserResponse> getUser(@PathVariable Long id, WebRequest webRequest);
 
     @Operation(
             summary = "Criar novo usuário",
@@ -124,9 +223,81 @@ public interface UserControllerDoc {
     )
     ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserRequest userRequest);
 
+    @Operation(
+            summary = "Importar usuários em lote",
+            description = "Cria usuários a partir de um array JSON de UserRequest (ou NDJSON). O corpo é lido em "
+                    + "streaming e inserido em lotes; linhas inválidas ou duplicadas são rejeitadas individualmente "
+                    + "e listadas no resultado sem interromper a importação",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = UserRequest.class))
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", 
+                            description = "Importação concluída; veja rejected e errors para as linhas rejeitadas",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = UserImportResult.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500", 
+                            description = "Erro interno do servidor",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    ResponseEntity<UserImportResult> importUsersFromJson(HttpServletRequest request) throws IOException;
+
+    @Operation(
+            summary = "Importar usuários em lote (CSV)",
+            description = "Cria usuários a partir de um CSV UTF-8 com cabeçalho. Colunas obrigatórias: name, email, "
+                    + "login, password; opcionais: address, userType. Os números de linha nos erros contam o cabeçalho "
+                    + "como linha 1",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = "text/csv",
+                            schema = @Schema(type = "string", example = "name,email,login,password,userType\nAna,ana@email.com,ana,senha123,CUSTOMER")
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", 
+                            description = "Importação concluída; veja rejected e errors para as linhas rejeitadas",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = UserImportResult.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", 
+                            description = "CSV sem cabeçalho ou sem uma coluna obrigatória",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500", 
+                            description = "Erro interno do servidor",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    ResponseEntity<UserImportResult> importUsersFromCsv(HttpServletRequest request) throws IOException;
+
     @Operation(
             summary = "Atualizar usuário",
-            description = "Atualiza parcialmente os dados de um usuário existente",
+            description = "Atualiza parcialmente os dados de um usuário existente. A versão lida é obrigatória, no header `If-Match` (o ETag de GET /api/user/{id}) ou no campo `version`: a atualização é recusada (409) se o usuário tiver sido alterado por outra requisição",
             responses = {
                     @ApiResponse(
                             responseCode = "200", 
@@ -154,7 +325,15 @@ public interface UserControllerDoc {
                     ),
                     @ApiResponse(
                             responseCode = "409", 
-                            description = "Conflito - email/login já existe",
+                            description = "Conflito - email/login já existe ou o usuário foi alterado depois da versão informada",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "428", 
+                            description = "Versão não informada (If-Match ou version)",
                             content = @Content(
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorResponse.class)
@@ -170,11 +349,15 @@ public interface UserControllerDoc {
                     )
             }
     )
-    ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @Valid @RequestBody UserUpdateRequest userUpdateRequest);
+    ResponseEntity<UserResponse> updateUser(
+            @PathVariable Long id,
+            @Parameter(description = "ETag do usuário lido (alternativa ao campo version)") @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @Valid @RequestBody UserUpdateRequest userUpdateRequest);
 
     @Operation(
             summary = "Deletar usuário",
-            description = "Remove um usuário do sistema",
+            description = "Remove um usuário do sistema com um único comando. Com a exclusão lógica ativa, "
+                    + "o usuário deixa de ser visível imediatamente e é removido depois pela rotina de expurgo",
             responses = {
                     @ApiResponse(
                             responseCode = "204", 
@@ -208,6 +391,40 @@ public interface UserControllerDoc {
     )
     ResponseEntity<Void> deleteUser(@PathVariable Long id);
 
+    @Operation(
+            summary = "Deletar usuários em lote",
+            description = "Remove até " + UserService.MAX_BULK_DELETE_SIZE
+                    + " usuários em uma única transação. IDs inexistentes não interrompem a operação; "
+                    + "são devolvidos em notFound",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", 
+                            description = "Remoção concluída",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = UserBulkDeleteResult.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", 
+                            description = "Lista vazia, com IDs nulos ou acima do limite",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500", 
+                            description = "Erro interno do servidor",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            )
+                    )
+            }
+    )
+    ResponseEntity<UserBulkDeleteResult> deleteUsers(@Valid @RequestBody UserBulkDeleteRequest request);
+
     @Operation(
             summary = "Alterar senha do usuário",
             description = "Altera a senha de um usuário existente",
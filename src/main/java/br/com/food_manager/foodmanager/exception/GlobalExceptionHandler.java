@@ -2,13 +2,19 @@ package br.com.food_manager.foodmanager.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,6 +52,45 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(UserVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleUserVersionConflictException(
+            UserVersionConflictException ex, HttpServletRequest request) {
+
+        ErrorResponse error = ErrorResponse.of(
+                ex.getMessage(),
+                HttpStatus.CONFLICT,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(UserVersionRequiredException.class)
+    public ResponseEntity<ErrorResponse> handleUserVersionRequiredException(
+            UserVersionRequiredException ex, HttpServletRequest request) {
+
+        ErrorResponse error = ErrorResponse.of(
+                ex.getMessage(),
+                HttpStatus.PRECONDITION_REQUIRED,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body(error);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+
+        ErrorResponse error = ErrorResponse.of(
+                "O registro foi alterado por outra requisição, tente novamente",
+                HttpStatus.CONFLICT,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(InvalidUserDataException.class)
     public ResponseEntity<ErrorResponse> handleInvalidUserDataException(
             InvalidUserDataException ex, HttpServletRequest request) {
@@ -59,6 +104,49 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRefreshTokenException(
+            InvalidRefreshTokenException ex, HttpServletRequest request) {
+
+        ErrorResponse error = ErrorResponse.of(
+                ex.getMessage(),
+                HttpStatus.UNAUTHORIZED,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttemptsException(
+            TooManyLoginAttemptsException ex, HttpServletRequest request) {
+
+        ErrorResponse error = ErrorResponse.of(
+                ex.getMessage(),
+                HttpStatus.TOO_MANY_REQUESTS,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailableException(
+            PasswordHashingUnavailableException ex, HttpServletRequest request) {
+
+        ErrorResponse error = ErrorResponse.of(
+                ex.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
@@ -79,18 +167,39 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+
+        ErrorResponse error = ErrorResponse.of(
+                "Valor inválido para o parâmetro " + ex.getName(),
+                HttpStatus.BAD_REQUEST,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingServletRequestParameterException(
+            MissingServletRequestParameterException ex, HttpServletRequest request) {
+
+        ErrorResponse error = ErrorResponse.of(
+                "Parâmetro obrigatório ausente: " + ex.getParameterName(),
+                HttpStatus.BAD_REQUEST,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
             DataIntegrityViolationException ex, HttpServletRequest request) {
 
-        String message = "Violação de integridade de dados";
-        if (ex.getMessage() != null) {
-            if (ex.getMessage().contains("email")) {
-                message = "Email já está em uso";
-            } else if (ex.getMessage().contains("login")) {
-                message = "Login já está em uso";
-            }
-        }
+        String message = UniqueConstraintResolver.violatedField(ex)
+                .map(field -> "email".equals(field) ? "Email já está em uso" : "Login já está em uso")
+                .orElse("Violação de integridade de dados");
 
         ErrorResponse error = ErrorResponse.of(
                 message,
@@ -101,6 +210,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailableException(
+            Exception ex, HttpServletRequest request) {
+        logger.warn("Conexão com o banco indisponível: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.of(
+                "Serviço temporariamente sobrecarregado, tente novamente",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(DataAccessException.class)
     public ResponseEntity<ErrorResponse> handleDataAccessException(
             DataAccessException ex, HttpServletRequest request) {
@@ -0,0 +1,7 @@
+package br.com.food_manager.foodmanager.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.food_manager.foodmanager.exception;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super("Muitas tentativas de login, tente novamente em " + retryAfterSeconds + " segundos");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
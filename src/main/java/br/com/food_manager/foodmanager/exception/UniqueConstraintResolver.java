@@ -0,0 +1,57 @@
+package br.com.food_manager.foodmanager.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Identifica qual campo único da tabela {@code users} foi violado a partir da exceção do banco.
+ * <p>
+ * Usa o nome da restrição extraído pelo Hibernate quando ele identifica a coluna e, caso
+ * contrário (o H2 gera nomes como {@code CONSTRAINT_6A_INDEX_8}), a mensagem do driver. O MySQL
+ * informa a chave como {@code for key 'users.email'} e o H2 como
+ * {@code ... ON PUBLIC.USERS(EMAIL ...) VALUES ...}; os valores duplicados são descartados antes
+ * da busca, para que um login como "email1" não seja confundido com a coluna.
+ */
+public final class UniqueConstraintResolver {
+
+    private static final Pattern UNIQUE_COLUMN = Pattern.compile("(?<![a-z0-9_])(email|login)(?![a-z0-9_])");
+
+    private UniqueConstraintResolver() {
+    }
+
+    public static Optional<String> violatedField(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                Optional<String> field = match(violation.getConstraintName());
+                if (field.isPresent()) {
+                    return field;
+                }
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getMessage() != null) {
+                return match(sqlException.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<String> match(String text) {
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int key = normalized.lastIndexOf("for key ");
+        if (key >= 0) {
+            normalized = normalized.substring(key);
+        }
+        int values = normalized.indexOf(" values ");
+        if (values >= 0) {
+            normalized = normalized.substring(0, values);
+        }
+
+        Matcher matcher = UNIQUE_COLUMN.matcher(normalized);
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+}
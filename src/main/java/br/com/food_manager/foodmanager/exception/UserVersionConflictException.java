@@ -0,0 +1,7 @@
+package br.com.food_manager.foodmanager.exception;
+
+public class UserVersionConflictException extends RuntimeException {
+    public UserVersionConflictException(Long id, Long expectedVersion) {
+        super("Usuário com ID " + id + " foi alterado por outra requisição (versão esperada: " + expectedVersion + ")");
+    }
+}
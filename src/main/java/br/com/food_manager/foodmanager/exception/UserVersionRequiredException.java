@@ -0,0 +1,7 @@
+package br.com.food_manager.foodmanager.exception;
+
+public class UserVersionRequiredException extends RuntimeException {
+    public UserVersionRequiredException() {
+        super("Informe a versão do usuário no header If-Match ou no campo version");
+    }
+}
@@ -0,0 +1,207 @@
+package br.com.food_manager.foodmanager.mapper;
+
+import br.com.food_manager.foodmanager.exception.InvalidUserDataException;
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.model.dto.UserRequest;
+import br.com.food_manager.foodmanager.service.UserImportService.Row;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê as linhas de uma importação de usuários à medida que chegam na requisição, sem
+ * carregar o corpo inteiro em memória.
+ */
+public final class UserImportReader {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "email", "login", "password");
+
+    private UserImportReader() {
+    }
+
+    /**
+     * Lê um array JSON de {@link UserRequest} (ou valores separados por linha, NDJSON).
+     * Um elemento com tipo inválido rejeita apenas a própria linha; JSON malformado
+     * encerra a leitura, mantendo o que já foi importado.
+     */
+    public static Iterator<Row> fromJson(ObjectMapper objectMapper, InputStream input) throws IOException {
+        MappingIterator<UserRequest> values = objectMapper.readerFor(UserRequest.class).readValues(input);
+        return new Iterator<>() {
+            private long number;
+            private boolean malformed;
+
+            @Override
+            public boolean hasNext() {
+                if (malformed) {
+                    return false;
+                }
+                try {
+                    return values.hasNextValue();
+                } catch (IOException e) {
+                    malformed = true;
+                    return true;
+                }
+            }
+
+            @Override
+            public Row next() {
+                number++;
+                if (malformed) {
+                    return Row.invalid(number, "JSON malformado, importação interrompida nesta posição");
+                }
+                try {
+                    return Row.of(number, values.nextValue());
+                } catch (JsonMappingException e) {
+                    return Row.invalid(number, "Valor inválido para o campo " + fieldName(e));
+                } catch (JsonProcessingException e) {
+                    malformed = true;
+                    return Row.invalid(number, "JSON malformado, importação interrompida nesta posição");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Lê um CSV em UTF-8 com cabeçalho. As colunas {@code name, email, login, password} são
+     * obrigatórias e {@code address, userType} opcionais, em qualquer ordem. Campos podem
+     * estar entre aspas duplas, com {@code ""} representando uma aspa.
+     */
+    public static Iterator<Row> fromCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new InvalidUserDataException("CSV vazio: o cabeçalho é obrigatório");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = parseLine(stripBom(headerLine));
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidUserDataException("Coluna obrigatória ausente no CSV: " + column);
+            }
+        }
+
+        return new Iterator<>() {
+            private long lineNumber = 1;
+            private String nextLine = readDataLine();
+
+            @Override
+            public boolean hasNext() {
+                return nextLine != null;
+            }
+
+            @Override
+            public Row next() {
+                if (nextLine == null) {
+                    throw new NoSuchElementException();
+                }
+                String line = nextLine;
+                long number = lineNumber;
+                nextLine = readDataLine();
+                return toRow(number, line);
+            }
+
+            private String readDataLine() {
+                try {
+                    String line;
+                    do {
+                        line = reader.readLine();
+                        lineNumber++;
+                    } while (line != null && line.isBlank());
+                    return line;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            private Row toRow(long number, String line) {
+                List<String> fields = parseLine(line);
+                if (fields == null) {
+                    return Row.invalid(number, "Aspas não fechadas na linha");
+                }
+                String userType = field(fields, "usertype");
+                UserType type = null;
+                if (userType != null) {
+                    try {
+                        type = UserType.valueOf(userType.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        return Row.invalid(number, "Tipo de usuário inválido: " + userType);
+                    }
+                }
+                return Row.of(number, new UserRequest(field(fields, "name"), field(fields, "email"),
+                        field(fields, "login"), field(fields, "password"), field(fields, "address"), type));
+            }
+
+            private String field(List<String> fields, String column) {
+                Integer index = columns.get(column);
+                if (index == null || index >= fields.size()) {
+                    return null;
+                }
+                String value = fields.get(index).trim();
+                return value.isEmpty() ? null : value;
+            }
+        };
+    }
+
+    private static String fieldName(JsonMappingException e) {
+        return e.getPath().isEmpty() ? "desconhecido" : e.getPath().get(e.getPath().size() - 1).getFieldName();
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '﻿' ? line.substring(1) : line;
+    }
+
+    /**
+     * Separa uma linha de CSV em campos. Retorna nulo se houver aspas não fechadas.
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -23,7 +23,8 @@ public class UserMapper {
             user.getEmail(),
             user.getLogin(),
             user.getLastUpdated(),
-            user.getAddress()
+            user.getAddress(),
+            user.getVersion()
         );
     }
 
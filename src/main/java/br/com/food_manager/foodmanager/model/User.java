@@ -1,16 +1,16 @@
 package br.com.food_manager.foodmanager.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Date;
-import java.util.List;
 
 @Entity
 @Table(name = "users")
+@SQLRestriction("deleted_at is null")
 public class User implements UserDetails {
 
     @Id
@@ -29,13 +29,17 @@ public class User implements UserDetails {
     private boolean accountNonExpired = true;
     private boolean accountNonLocked = true;
     private boolean credentialsNonExpired = true;
+    private int tokenVersion;
+    @Version
+    private long version;
+    private Date deletedAt;
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         if (userType == null) {
-            return List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"));
+            return UserType.CUSTOMER.getAuthorities();
         }
-        return List.of(new SimpleGrantedAuthority("ROLE_" + userType.name()));
+        return userType.getAuthorities();
     }
 
     public User() {}
@@ -143,4 +147,28 @@ public class User implements UserDetails {
         this.userType = userType;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Date getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Date deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
 }
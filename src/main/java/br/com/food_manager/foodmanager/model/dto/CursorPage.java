@@ -0,0 +1,27 @@
+package br.com.food_manager.foodmanager.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Schema(description = "Página de resultados paginada por cursor")
+public record CursorPage<T>(
+        @Schema(description = "Itens da página, ordenados por ID")
+        List<T> content,
+
+        @Schema(description = "Quantidade máxima de itens por página", example = "20")
+        int size,
+
+        @Schema(description = "Valor a enviar em afterId para buscar a próxima página; nulo na última página", example = "20")
+        Long nextCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), size, nextCursor);
+    }
+}
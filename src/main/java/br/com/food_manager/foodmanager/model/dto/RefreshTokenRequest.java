@@ -0,0 +1,11 @@
+package br.com.food_manager.foodmanager.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Refresh token emitido no login ou na última renovação")
+public record RefreshTokenRequest(
+        @Schema(description = "Refresh token", example = "q8Zt3k...")
+        @NotBlank(message = "Refresh token é obrigatório")
+        String refreshToken
+) {}
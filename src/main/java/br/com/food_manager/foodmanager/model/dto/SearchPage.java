@@ -0,0 +1,20 @@
+package br.com.food_manager.foodmanager.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página de resultados de busca, ordenados por relevância")
+public record SearchPage<T>(
+        @Schema(description = "Resultados da página, do mais para o menos relevante")
+        List<T> content,
+
+        @Schema(description = "Número da página, a partir de 0", example = "0")
+        int page,
+
+        @Schema(description = "Quantidade máxima de resultados por página", example = "20")
+        int size,
+
+        @Schema(description = "Indica se há mais resultados na próxima página", example = "true")
+        boolean hasNext
+) {}
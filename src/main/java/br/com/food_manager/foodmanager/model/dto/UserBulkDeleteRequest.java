@@ -0,0 +1,18 @@
+package br.com.food_manager.foodmanager.model.dto;
+
+import br.com.food_manager.foodmanager.service.UserService;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "IDs dos usuários a remover em lote")
+public record UserBulkDeleteRequest(
+        @Schema(description = "IDs dos usuários; IDs repetidos são considerados uma única vez", example = "[3, 7, 12]")
+        @NotEmpty(message = "Informe ao menos um ID")
+        @Size(max = UserService.MAX_BULK_DELETE_SIZE,
+                message = "Informe no máximo " + UserService.MAX_BULK_DELETE_SIZE + " IDs por requisição")
+        List<@NotNull(message = "IDs não podem ser nulos") Long> ids
+) {}
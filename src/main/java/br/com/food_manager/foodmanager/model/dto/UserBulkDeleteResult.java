@@ -0,0 +1,17 @@
+package br.com.food_manager.foodmanager.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado da remoção de usuários em lote")
+public record UserBulkDeleteResult(
+        @Schema(description = "IDs distintos recebidos", example = "3")
+        int requested,
+
+        @Schema(description = "Usuários removidos", example = "2")
+        int deleted,
+
+        @Schema(description = "IDs que não correspondem a nenhum usuário", example = "[12]")
+        List<Long> notFound
+) {}
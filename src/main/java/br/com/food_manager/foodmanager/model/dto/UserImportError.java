@@ -0,0 +1,12 @@
+package br.com.food_manager.foodmanager.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Linha rejeitada na importação de usuários")
+public record UserImportError(
+        @Schema(description = "Número da linha no CSV (o cabeçalho é a linha 1) ou posição no array JSON", example = "7")
+        long row,
+
+        @Schema(description = "Motivo da rejeição", example = "Usuário com email 'joao.silva@email.com' já existe")
+        String message
+) {}
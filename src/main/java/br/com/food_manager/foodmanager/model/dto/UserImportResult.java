@@ -0,0 +1,26 @@
+package br.com.food_manager.foodmanager.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado da importação de usuários")
+public record UserImportResult(
+        @Schema(description = "Linhas lidas", example = "1000")
+        long totalRows,
+
+        @Schema(description = "Usuários criados", example = "998")
+        long imported,
+
+        @Schema(description = "Linhas rejeitadas", example = "2")
+        long rejected,
+
+        @Schema(description = "Duração da importação em milissegundos", example = "5230")
+        long elapsedMillis,
+
+        @Schema(description = "Linhas processadas por segundo", example = "191.2")
+        double rowsPerSecond,
+
+        @Schema(description = "Detalhes das linhas rejeitadas")
+        List<UserImportError> errors
+) {}
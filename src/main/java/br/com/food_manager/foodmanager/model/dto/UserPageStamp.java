@@ -0,0 +1,15 @@
+package br.com.food_manager.foodmanager.model.dto;
+
+import java.util.Date;
+
+/**
+ * Resumo de uma página da listagem de usuários, usado como validador HTTP (ETag) sem consultar a
+ * página. Os IDs só crescem e as versões só aumentam, então qualquer inclusão, remoção ou
+ * alteração dentro da página muda ao menos um dos valores.
+ *
+ * @param count quantidade de usuários na janela da página (até o tamanho da página mais um)
+ * @param idSum a soma dos IDs; muda quando um usuário entra ou sai da janela
+ * @param versionSum a soma das versões; muda a cada alteração de um usuário da janela
+ * @param lastUpdated a data de atualização mais recente da janela, ou nulo se ela estiver vazia
+ */
+public record UserPageStamp(long count, long idSum, long versionSum, Date lastUpdated) {}
@@ -21,5 +21,8 @@ public record UserResponse(
         Date lastUpdated,
 
         @Schema(description = "Endereço do usuário", example = "Rua das Flores, 123, Centro")
-        String address
+        String address,
+
+        @Schema(description = "Versão atual do registro, usada no controle de concorrência otimista", example = "3")
+        Long version
 ) {}
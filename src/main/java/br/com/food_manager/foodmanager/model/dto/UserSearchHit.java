@@ -0,0 +1,12 @@
+package br.com.food_manager.foodmanager.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Usuário encontrado pela busca")
+public record UserSearchHit(
+        @Schema(description = "Dados do usuário")
+        UserResponse user,
+
+        @Schema(description = "Relevância do resultado; maior é mais relevante", example = "4.5")
+        double score
+) {}
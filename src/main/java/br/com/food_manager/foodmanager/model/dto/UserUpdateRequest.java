@@ -1,6 +1,7 @@
 package br.com.food_manager.foodmanager.model.dto;
 
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -20,5 +21,11 @@ public record UserUpdateRequest(
 
         @Schema(description = "Endereço do usuário", example = "Rua das Flores, 123, Centro")
         @Size(max = 255, message = "Endereço deve ter no máximo 255 caracteres")
-        String address
+        String address,
+
+        @Schema(description = "Versão do usuário lida pelo cliente, obrigatória se o header If-Match não for "
+                + "enviado; a atualização é recusada com 409 caso o registro tenha sido alterado depois dessa leitura",
+                example = "3")
+        @PositiveOrZero(message = "Versão deve ser maior ou igual a zero")
+        Long version
 ) {}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package br.com.food_manager.foodmanager.repository;
+
+import br.com.food_manager.foodmanager.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revoga o token somente se ainda estiver ativo. A condição é avaliada na própria escrita,
+     * com a linha bloqueada: entre dois usos simultâneos do mesmo token, só um altera a linha.
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.tokenHash = :tokenHash and r.revoked = false")
+    int revokeIfActive(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.userId = :userId and r.revoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.userId in :userIds and r.revoked = false")
+    int revokeAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Date now);
+}
@@ -1,17 +1,93 @@
 package br.com.food_manager.foodmanager.repository;
 
 import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByLogin(String login);
     Optional<User> findByEmail(String email);
-    boolean existsByLogin(String login);
-    boolean existsByEmail(String email);
-    boolean existsByLoginAndIdNot(String login, Long id);
-    boolean existsByEmailAndIdNot(String email, Long id);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.login from User u where u.login in :logins")
+    Set<String> findExistingLogins(@Param("logins") Collection<String> logins);
+
+    @Query("select u.id from User u where u.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /*
+     * Projeções de leitura: selecionam apenas as colunas de UserResponse e devolvem objetos
+     * não gerenciados, sem hash de senha, sem snapshot para dirty checking e sem ocupar o
+     * contexto de persistência.
+     */
+    String USER_RESPONSE = "select new br.com.food_manager.foodmanager.model.dto.UserResponse("
+            + "u.id, u.name, u.email, u.login, u.lastUpdated, u.address, u.version) from User u ";
+
+    @Query(USER_RESPONSE + "where u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+
+    @Query(USER_RESPONSE + "where u.id > :afterId order by u.id")
+    List<UserResponse> findResponsePage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(USER_RESPONSE + "where u.userType = :userType and u.id > :afterId order by u.id")
+    List<UserResponse> findResponsePageByUserType(@Param("userType") UserType userType,
+                                                  @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Percorre todos os usuários em ordem de ID sem carregar o resultado inteiro em memória.
+     * No MySQL o fetch size só é respeitado com {@code useCursorFetch=true}, definido no perfil
+     * {@code prod} ({@code spring.datasource.hikari.data-source-properties}).
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAll();
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    /*
+     * Exclusões em um único comando, decididas pela quantidade de linhas afetadas: nada é lido
+     * antes. As linhas de refresh_tokens são removidas pelo ON DELETE CASCADE da chave estrangeira.
+     */
+    @Modifying
+    @Query("delete from User u where u.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /*
+     * Email e login são limpos na exclusão lógica: as restrições UNIQUE valem só para usuários
+     * ativos, e um usuário excluído pode ser cadastrado de novo antes do expurgo.
+     */
+    @Modifying
+    @Query("update User u set u.deletedAt = :deletedAt, u.email = null, u.login = null, "
+            + "u.lastUpdated = :deletedAt, u.version = u.version + 1 "
+            + "where u.id in :ids and u.deletedAt is null")
+    int markDeletedByIds(@Param("ids") Collection<Long> ids, @Param("deletedAt") Date deletedAt);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,56 @@
+package br.com.food_manager.foodmanager.repository;
+
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.model.dto.UserPageStamp;
+
+import java.util.Date;
+
+/**
+ * Operações do repositório de usuários que não podem ser expressas por consultas derivadas ou
+ * {@code @Query} fixas.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Atualiza, em um único UPDATE, apenas as colunas preenchidas em {@code changes}
+     * (nome, email, login e endereço), além da data de atualização, e incrementa a versão.
+     * <p>
+     * Não lê o usuário antes: a condição {@code version = :expectedVersion} faz parte do WHERE e
+     * nenhuma linha é alterada se outra escrita aconteceu depois da leitura do cliente.
+     *
+     * @param id o identificador do usuário
+     * @param expectedVersion a versão lida pelo cliente
+     * @param changes os novos valores; campos nulos ou vazios são mantidos
+     * @return a quantidade de linhas alteradas, 0 ou 1
+     */
+    int updateChangedFields(Long id, long expectedVersion, User changes);
+
+    /**
+     * Resume, com uma única consulta agregada, as mesmas linhas que a listagem paginada leria
+     * ({@code id > afterId}, em ordem de ID, até {@code limit} linhas), lendo apenas ID, versão e
+     * data de atualização.
+     * <p>
+     * Usa SQL nativo porque a janela é uma subconsulta com LIMIT; as linhas excluídas
+     * logicamente são descartadas explicitamente.
+     *
+     * @param afterId o cursor da página
+     * @param limit a quantidade de linhas lidas pela listagem (o tamanho da página mais um)
+     * @param userType filtro opcional por tipo de usuário
+     * @return o resumo da janela
+     */
+    UserPageStamp findPageStamp(long afterId, int limit, UserType userType);
+
+    /**
+     * Remove definitivamente até {@code limit} usuários excluídos logicamente antes de
+     * {@code deletedBefore}. Os IDs são lidos primeiro, sem bloqueio, e a exclusão é feita pela
+     * chave primária, de modo que cada lote bloqueia apenas as próprias linhas.
+     * <p>
+     * Usa SQL nativo porque as consultas sobre {@code User} ignoram as linhas excluídas.
+     *
+     * @param deletedBefore data limite da exclusão lógica
+     * @param limit quantidade máxima de linhas removidas
+     * @return a quantidade de linhas removidas
+     */
+    int purgeDeleted(Date deletedBefore, int limit);
+}
@@ -0,0 +1,91 @@
+package br.com.food_manager.foodmanager.repository;
+
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.model.dto.UserPageStamp;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.util.StringUtils;
+
+import java.util.Date;
+import java.util.List;
+
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateChangedFields(Long id, long expectedVersion, User changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<User> update = cb.createCriteriaUpdate(User.class);
+        Root<User> user = update.from(User.class);
+
+        setIfPresent(update, user, "name", changes.getName());
+        setIfPresent(update, user, "email", changes.getEmail());
+        setIfPresent(update, user, "login", changes.getLogin());
+        setIfPresent(update, user, "address", changes.getAddress());
+        update.set(user.<Date>get("lastUpdated"),
+                changes.getLastUpdated() != null ? changes.getLastUpdated() : new Date());
+        update.set(user.<Long>get("version"), cb.sum(user.<Long>get("version"), 1L));
+
+        update.where(cb.equal(user.get("id"), id), cb.equal(user.get("version"), expectedVersion));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public UserPageStamp findPageStamp(long afterId, int limit, UserType userType) {
+        String byType = userType != null ? "and user_type = :userType" : "";
+        NativeQuery<Object[]> query = entityManager.createNativeQuery("""
+                        select count(*) as users, coalesce(sum(id), 0) as id_sum,
+                               coalesce(sum(version), 0) as version_sum, max(last_updated) as last_updated
+                        from (select id, version, last_updated from users
+                              where id > :afterId and deleted_at is null %s
+                              order by id limit :limit) page""".formatted(byType))
+                .unwrap(NativeQuery.class)
+                .addScalar("users", StandardBasicTypes.LONG)
+                .addScalar("id_sum", StandardBasicTypes.LONG)
+                .addScalar("version_sum", StandardBasicTypes.LONG)
+                .addScalar("last_updated", StandardBasicTypes.TIMESTAMP)
+                .setParameter("afterId", afterId)
+                .setParameter("limit", limit);
+        if (userType != null) {
+            query.setParameter("userType", userType.name());
+        }
+
+        Object[] row = query.getSingleResult();
+        return new UserPageStamp((Long) row[0], (Long) row[1], (Long) row[2], (Date) row[3]);
+    }
+
+    @Override
+    public int purgeDeleted(Date deletedBefore, int limit) {
+        List<?> ids = entityManager.createNativeQuery(
+                        "select id from users where deleted_at < :deletedBefore order by id")
+                .setParameter("deletedBefore", deletedBefore)
+                .setMaxResults(limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return entityManager.createNativeQuery(
+                        "delete from users where id in (:ids) and deleted_at is not null")
+                .setParameter("ids", ids)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(User.class)
+                .executeUpdate();
+    }
+
+    private static void setIfPresent(CriteriaUpdate<User> update, Root<User> user, String attribute, String value) {
+        if (StringUtils.hasText(value)) {
+            update.set(user.<String>get(attribute), value);
+        }
+    }
+}
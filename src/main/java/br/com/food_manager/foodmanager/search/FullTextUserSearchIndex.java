@@ -0,0 +1,56 @@
+package br.com.food_manager.foodmanager.search;
+
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import br.com.food_manager.foodmanager.model.dto.UserSearchHit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Busca pelo índice FULLTEXT do MySQL ({@code ft_users_search}) em modo booleano: cada termo
+ * é obrigatório e casa por prefixo ({@code +termo*}), e a ordenação usa a relevância calculada
+ * pelo próprio MySQL.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.user-search.engine", havingValue = "fulltext", matchIfMissing = true)
+public class FullTextUserSearchIndex implements UserSearchIndex {
+
+    private static final String SEARCH_USERS = """
+            SELECT id, name, email, login, last_updated, address, version,
+                   MATCH (name, email, address) AGAINST (? IN BOOLEAN MODE) AS score
+            FROM users
+            WHERE MATCH (name, email, address) AGAINST (? IN BOOLEAN MODE)
+              AND deleted_at IS NULL
+            ORDER BY score DESC, id
+            LIMIT ? OFFSET ?""";
+
+    private static final RowMapper<UserSearchHit> HIT_MAPPER = (rs, rowNum) -> new UserSearchHit(
+            new UserResponse(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    rs.getString("email"),
+                    rs.getString("login"),
+                    rs.getTimestamp("last_updated"),
+                    rs.getString("address"),
+                    rs.getLong("version")),
+            rs.getDouble("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FullTextUserSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UserSearchHit> search(List<String> terms, int offset, int limit) {
+        // Os termos já contêm apenas letras e dígitos, sem operadores do modo booleano
+        String expression = terms.stream()
+                .map(term -> "+" + term + "*")
+                .collect(Collectors.joining(" "));
+        return jdbcTemplate.query(SEARCH_USERS, HIT_MAPPER, expression, expression, limit, offset);
+    }
+}
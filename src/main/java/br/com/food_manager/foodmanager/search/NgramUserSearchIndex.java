@@ -0,0 +1,246 @@
+package br.com.food_manager.foodmanager.search;
+
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import br.com.food_manager.foodmanager.model.dto.UserSearchHit;
+import br.com.food_manager.foodmanager.repository.UserRepository;
+import br.com.food_manager.foodmanager.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice invertido de trigramas em memória, para o banco embarcado (H2), que não tem o
+ * FULLTEXT do MySQL. Como no {@code +termo*} do FULLTEXT, cada termo casa com o início de uma
+ * palavra do nome, email ou endereço: os trigramas selecionam os candidatos e a pontuação
+ * descarta os que só contêm o termo no meio de uma palavra.
+ * <p>
+ * O índice é uma cópia imutável da tabela, reconstruída na primeira busca depois de uma
+ * escrita avisada por {@link #usersChanged()}; a verificação não consulta o banco. Escritas
+ * feitas por fora da aplicação ou por outra instância não são vistas, e a reconstrução lê a
+ * tabela inteira: serve para o banco embarcado de bases de teste e benchmarks, não para produção.
+ */
+@Component
+@ConditionalOnProperty(name = "app.user-search.engine", havingValue = "ngram")
+public class NgramUserSearchIndex implements UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(NgramUserSearchIndex.class);
+
+    private static final int N = 3;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private static final double NAME_WEIGHT = 3;
+    private static final double EMAIL_WEIGHT = 2;
+    private static final double ADDRESS_WEIGHT = 1;
+
+    private final UserRepository userRepository;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public NgramUserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public List<UserSearchHit> search(List<String> terms, int offset, int limit) {
+        return current().search(terms, offset, limit);
+    }
+
+    /**
+     * Conta a alteração só após o commit: uma reconstrução disparada antes dele leria a tabela
+     * sem a escrita e ficaria marcada como atualizada.
+     */
+    @Override
+    public void usersChanged() {
+        TransactionCallbacks.afterCommit(changes::incrementAndGet);
+    }
+
+    private Snapshot current() {
+        long version = changes.get();
+        Snapshot current = snapshot;
+        if (current.version == version) {
+            return current;
+        }
+
+        rebuildLock.lock();
+        try {
+            if (snapshot.version != version) {
+                snapshot = build(version);
+            }
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot build(long version) {
+        long start = System.nanoTime();
+        List<Document> documents = new ArrayList<>();
+        long cursor = 0;
+        List<UserResponse> page;
+        do {
+            page = userRepository.findResponsePage(cursor, Limit.of(REBUILD_PAGE_SIZE));
+            for (UserResponse user : page) {
+                documents.add(new Document(user));
+            }
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        Map<String, PostingList> postings = new HashMap<>();
+        for (int doc = 0; doc < documents.size(); doc++) {
+            for (String gram : documents.get(doc).grams()) {
+                postings.computeIfAbsent(gram, g -> new PostingList()).add(doc);
+            }
+        }
+        Map<String, int[]> index = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((gram, list) -> index.put(gram, list.toArray()));
+
+        logger.info("Índice de busca de usuários reconstruído: {} usuários, {} trigramas em {} ms",
+                documents.size(), index.size(), (System.nanoTime() - start) / 1_000_000);
+        return new Snapshot(version, documents.toArray(Document[]::new), index);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + N <= text.length(); i++) {
+            grams.add(text.substring(i, i + N));
+        }
+        return grams;
+    }
+
+    private record Snapshot(long version, Document[] documents, Map<String, int[]> postings) {
+
+        static final Snapshot EMPTY = new Snapshot(-1, new Document[0], Map.of());
+
+        List<UserSearchHit> search(List<String> terms, int offset, int limit) {
+            List<int[]> lists = new ArrayList<>();
+            for (String term : terms) {
+                for (String gram : grams(term)) {
+                    int[] docs = postings.get(gram);
+                    if (docs == null) {
+                        return List.of();
+                    }
+                    lists.add(docs);
+                }
+            }
+            // Interseção começando pelas listas mais curtas, que limitam os candidatos mais cedo
+            lists.sort(Comparator.comparingInt(docs -> docs.length));
+            int[] candidates = lists.get(0);
+            for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+                candidates = intersect(candidates, lists.get(i));
+            }
+
+            List<UserSearchHit> hits = new ArrayList<>();
+            for (int doc : candidates) {
+                double score = documents[doc].score(terms);
+                if (score > 0) {
+                    hits.add(new UserSearchHit(documents[doc].user, score));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(UserSearchHit::score).reversed()
+                    .thenComparing(hit -> hit.user().id()));
+            if (offset >= hits.size()) {
+                return List.of();
+            }
+            return hits.subList(offset, Math.min(hits.size(), offset + limit));
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] result = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, k = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[k++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, k);
+        }
+    }
+
+    private static final class Document {
+        private final UserResponse user;
+        private final String name;
+        private final String email;
+        private final String address;
+
+        private Document(UserResponse user) {
+            this.user = user;
+            this.name = SearchTerms.normalize(user.name());
+            this.email = SearchTerms.normalize(user.email());
+            this.address = SearchTerms.normalize(user.address());
+        }
+
+        /** Trigramas de cada campo separadamente, para não casar trechos entre campos. */
+        private Set<String> grams() {
+            Set<String> grams = NgramUserSearchIndex.grams(name);
+            grams.addAll(NgramUserSearchIndex.grams(email));
+            grams.addAll(NgramUserSearchIndex.grams(address));
+            return grams;
+        }
+
+        /**
+         * Soma, por termo, o peso de cada campo com uma palavra que começa pelo termo. Devolve 0
+         * se algum termo não iniciar nenhuma palavra (trigramas em comum, mas fora de ordem ou
+         * no meio de uma palavra).
+         */
+        private double score(List<String> terms) {
+            double score = 0;
+            for (String term : terms) {
+                double termScore = fieldScore(name, term, NAME_WEIGHT)
+                        + fieldScore(email, term, EMAIL_WEIGHT)
+                        + fieldScore(address, term, ADDRESS_WEIGHT);
+                if (termScore == 0) {
+                    return 0;
+                }
+                score += termScore;
+            }
+            return score;
+        }
+
+        private static double fieldScore(String field, String term, double weight) {
+            for (int at = field.indexOf(term); at >= 0; at = field.indexOf(term, at + 1)) {
+                if (at == 0 || !Character.isLetterOrDigit(field.charAt(at - 1))) {
+                    return weight;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(docs, size);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.food_manager.foodmanager.search;
+
+import br.com.food_manager.foodmanager.exception.InvalidUserDataException;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de textos e termos de busca: minúsculas, sem acentos, separados em palavras
+ * de letras e dígitos. Termos com menos de {@value #MIN_TERM_LENGTH} caracteres são ignorados,
+ * como no tamanho mínimo de token do FULLTEXT do InnoDB.
+ */
+public final class SearchTerms {
+
+    public static final int MIN_TERM_LENGTH = 3;
+    public static final int MAX_TERMS = 5;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTerms() {}
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Separa o texto da busca em termos distintos, na ordem em que aparecem.
+     *
+     * @throws InvalidUserDataException se nenhum termo tiver o tamanho mínimo
+     */
+    public static List<String> parse(String query) {
+        List<String> terms = SEPARATORS.splitAsStream(normalize(query))
+                .filter(term -> term.length() >= MIN_TERM_LENGTH)
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+        if (terms.isEmpty()) {
+            throw new InvalidUserDataException(
+                    "Informe ao menos um termo de busca com " + MIN_TERM_LENGTH + " ou mais caracteres");
+        }
+        return terms;
+    }
+}
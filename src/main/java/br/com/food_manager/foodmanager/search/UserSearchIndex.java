@@ -0,0 +1,29 @@
+package br.com.food_manager.foodmanager.search;
+
+import br.com.food_manager.foodmanager.model.dto.UserSearchHit;
+
+import java.util.List;
+
+/**
+ * Mecanismo de busca de usuários por nome, email e endereço, escolhido por
+ * {@code app.user-search.engine}.
+ */
+public interface UserSearchIndex {
+
+    /**
+     * Busca usuários em que cada termo inicia uma palavra, do mais para o menos relevante;
+     * empates são ordenados por ID.
+     *
+     * @param terms  termos já normalizados por {@link SearchTerms#parse(String)}
+     * @param offset quantidade de resultados a pular
+     * @param limit  quantidade máxima de resultados
+     * @return os resultados encontrados
+     */
+    List<UserSearchHit> search(List<String> terms, int offset, int limit);
+
+    /**
+     * Avisa que usuários foram incluídos, alterados ou removidos na transação corrente.
+     * Índices mantidos pelo próprio banco ignoram o aviso.
+     */
+    default void usersChanged() {}
+}
@@ -0,0 +1,94 @@
+package br.com.food_manager.foodmanager.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro amostrado das recusas de tokens de acesso. Toda recusa é contada na métrica
+ * {@code foodmanager.auth.failures} (tag {@code reason}), mas só é escrita no log enquanto
+ * houver saldo no {@link TokenBucket} do seu motivo: até {@code burst} eventos em rajada e
+ * depois um a cada {@code interval}. O evento seguinte a um período de descarte informa
+ * quantas recusas foram omitidas. Assim, uma rajada de tokens expirados de clientes
+ * desatualizados custa um incremento de contador por requisição em vez de uma linha de log.
+ * <p>
+ * Os eventos levam os campos estruturados {@code reason}, {@code method}, {@code path},
+ * {@code clientIp} e {@code suppressed}. O token nunca é registrado.
+ */
+@Component
+public class AuthFailureLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthFailureLog.class);
+
+    private final Map<AuthFailureReason, Sampler> samplers = new EnumMap<>(AuthFailureReason.class);
+
+    @Autowired
+    public AuthFailureLog(@Value("${app.security.auth-failure-log.burst:5}") int burst,
+                          @Value("${app.security.auth-failure-log.interval:10s}") Duration interval,
+                          MeterRegistry meterRegistry) {
+        this(burst, interval, meterRegistry, System::nanoTime);
+    }
+
+    AuthFailureLog(int burst, Duration interval, MeterRegistry meterRegistry, LongSupplier clock) {
+        for (AuthFailureReason reason : AuthFailureReason.values()) {
+            Counter failures = Counter.builder("foodmanager.auth.failures")
+                    .description("Requisições com token de acesso recusado")
+                    .tag("reason", reason.tag())
+                    .register(meterRegistry);
+            samplers.put(reason, new Sampler(new TokenBucket(burst, interval.toNanos(), clock), failures));
+        }
+    }
+
+    public void record(AuthFailureReason reason, HttpServletRequest request) {
+        record(reason, request, null);
+    }
+
+    public void record(AuthFailureReason reason, HttpServletRequest request, Throwable error) {
+        Sampler sampler = samplers.get(reason);
+        sampler.failures.increment();
+        if (!logger.isEnabledForLevel(reason.level())) {
+            return;
+        }
+        if (sampler.bucket.tryConsume() > 0) {
+            sampler.suppressed.increment();
+            return;
+        }
+
+        long suppressed = sampler.suppressed.sumThenReset();
+        LoggingEventBuilder event = logger.atLevel(reason.level())
+                .addKeyValue("reason", reason.tag())
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("clientIp", request.getRemoteAddr())
+                .addKeyValue("suppressed", suppressed);
+        if (error != null) {
+            event = event.setCause(error);
+        }
+        event.log("Token de acesso recusado ({}) em {} {}; {} recusas omitidas desde o último registro",
+                reason.tag(), request.getMethod(), request.getRequestURI(), suppressed);
+    }
+
+    private static final class Sampler {
+
+        private final TokenBucket bucket;
+        private final Counter failures;
+        private final LongAdder suppressed = new LongAdder();
+
+        private Sampler(TokenBucket bucket, Counter failures) {
+            this.bucket = bucket;
+            this.failures = failures;
+        }
+    }
+}
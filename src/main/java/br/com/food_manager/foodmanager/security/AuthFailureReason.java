@@ -0,0 +1,39 @@
+package br.com.food_manager.foodmanager.security;
+
+import org.slf4j.event.Level;
+
+/**
+ * Motivos pelos quais o {@link AuthTokenFilter} deixa de autenticar uma requisição que trouxe
+ * um token de acesso. Cada motivo tem a sua tag nas métricas e o nível em que é registrado:
+ * recusas esperadas (token expirado, revogado ou de uma versão anterior) em INFO, tokens
+ * adulterados ou inválidos em WARN e falhas inesperadas em ERROR.
+ */
+public enum AuthFailureReason {
+
+    MALFORMED("malformed", Level.WARN),
+    EXPIRED("expired", Level.INFO),
+    UNSUPPORTED("unsupported", Level.WARN),
+    EMPTY("empty", Level.WARN),
+    MISSING_CLAIMS("missing-claims", Level.WARN),
+    INVALID_CLAIMS("invalid-claims", Level.WARN),
+    INVALID("invalid", Level.WARN),
+    REVOKED("revoked", Level.INFO),
+    STALE_TOKEN_VERSION("stale-version", Level.INFO),
+    ERROR("error", Level.ERROR);
+
+    private final String tag;
+    private final Level level;
+
+    AuthFailureReason(String tag, Level level) {
+        this.tag = tag;
+        this.level = level;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public Level level() {
+        return level;
+    }
+}
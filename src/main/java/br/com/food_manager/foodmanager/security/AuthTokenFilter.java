@@ -1,13 +1,13 @@
 package br.com.food_manager.foodmanager.security;
 
-import br.com.food_manager.foodmanager.service.CustomUserDetailService;
+import br.com.food_manager.foodmanager.timing.RequestPhase;
+import br.com.food_manager.foodmanager.timing.RequestTimings;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -19,35 +19,60 @@ import java.io.IOException;
 public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
-    private final CustomUserDetailService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final RevokedTokenFilter revokedTokenFilter;
+    private final AuthFailureLog authFailureLog;
 
-    public AuthTokenFilter(JwtUtils jwtUtils, CustomUserDetailService userDetailsService) {
+    public AuthTokenFilter(JwtUtils jwtUtils, TokenVersionRegistry tokenVersionRegistry,
+                           RevokedTokenFilter revokedTokenFilter, AuthFailureLog authFailureLog) {
         this.jwtUtils = jwtUtils;
-        this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.revokedTokenFilter = revokedTokenFilter;
+        this.authFailureLog = authFailureLog;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
-        try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        String jwt = parseJwt(request);
+        if (jwt != null) {
+            long start = RequestTimings.begin(RequestPhase.AUTH);
+            try {
+                authenticate(jwt, request);
+            } catch (Exception e) {
+                authFailureLog.record(AuthFailureReason.ERROR, request, e);
+            } finally {
+                RequestTimings.end(RequestPhase.AUTH, start);
             }
-        } catch (Exception e) {
-            System.err.println("Cannot set user authentication: " + e.getMessage());
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(String jwt, HttpServletRequest request) {
+        JwtValidation validation = jwtUtils.validate(jwt);
+        if (!validation.isValid()) {
+            authFailureLog.record(validation.failure(), request);
+            return;
+        }
+
+        JwtPrincipal principal = validation.principal();
+        if (revokedTokenFilter.isRevoked(principal.tokenId())) {
+            authFailureLog.record(AuthFailureReason.REVOKED, request);
+            return;
+        }
+        if (!tokenVersionRegistry.isCurrent(principal.id(), principal.tokenVersion())) {
+            authFailureLog.record(AuthFailureReason.STALE_TOKEN_VERSION, request);
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = 
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -0,0 +1,34 @@
+package br.com.food_manager.foodmanager.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Escolhe o custo do BCrypt de acordo com o hardware em que a aplicação está rodando.
+ * Cada incremento no custo dobra o tempo de hash, então basta medir o custo mínimo
+ * e extrapolar até o maior custo que ainda fica dentro do tempo alvo.
+ */
+public final class BCryptCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BCryptCalibrator() {}
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        int strength = minStrength;
+        long estimated = elapsed;
+        while (strength < maxStrength && estimated * 2 <= target.toNanos()) {
+            estimated *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.food_manager.foodmanager.security;
+
+import br.com.food_manager.foodmanager.exception.PasswordHashingUnavailableException;
+import br.com.food_manager.foodmanager.timing.RequestPhase;
+import br.com.food_manager.foodmanager.timing.RequestTimings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executa o hash e a verificação de senhas em um pool dedicado e limitado, para que picos
+ * de login não ocupem todas as threads de requisição e deixem o restante da API sem CPU.
+ * Quando a fila do pool está cheia a requisição é rejeitada imediatamente com
+ * {@link PasswordHashingUnavailableException} em vez de esperar.
+ * <p>
+ * O tempo de cada hash é medido pelo timer {@code foodmanager.password.hashing} (tag
+ * {@code operation}: {@code encode} ou {@code matches}) e a espera na fila do pool pelo timer
+ * {@code foodmanager.password.hashing.queue}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Counter rejected;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueTimer;
+    private final int batchParallelism;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  Duration timeout, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.batchParallelism = Math.max(1, threads / 2);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("foodmanager.password.hashing.rejected")
+                .description("Operações de hash de senha rejeitadas por fila cheia ou tempo esgotado")
+                .register(meterRegistry);
+        this.encodeTimer = hashingTimer("encode", meterRegistry);
+        this.matchesTimer = hashingTimer("matches", meterRegistry);
+        this.queueTimer = Timer.builder("foodmanager.password.hashing.queue")
+                .description("Espera na fila do pool de hash de senhas")
+                .register(meterRegistry);
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+    }
+
+    private static Timer hashingTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("foodmanager.password.hashing")
+                .description("Hash e verificação de senhas, sem a espera na fila")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Gera o hash de várias senhas em paralelo, preservando a ordem. Usa no máximo metade
+     * das threads do pool ao mesmo tempo, deixando a outra metade livre para logins.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>(batchParallelism);
+        long start = RequestTimings.begin(RequestPhase.BCRYPT);
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (inFlight.size() == batchParallelism) {
+                    encoded.add(await(inFlight.removeFirst()));
+                }
+                inFlight.addLast(submit(encodeTimer, () -> delegate.encode(rawPassword)));
+            }
+            while (!inFlight.isEmpty()) {
+                encoded.add(await(inFlight.removeFirst()));
+            }
+            return encoded;
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+            RequestTimings.end(RequestPhase.BCRYPT, start);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        long start = RequestTimings.begin(RequestPhase.BCRYPT);
+        try {
+            return await(submit(timer, task));
+        } finally {
+            RequestTimings.end(RequestPhase.BCRYPT, start);
+        }
+    }
+
+    private <T> Future<T> submit(Timer timer, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Serviço de autenticação sobrecarregado, tente novamente", e);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Tempo esgotado ao processar a senha", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Processamento da senha interrompido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.food_manager.foodmanager.security;
+
+import br.com.food_manager.foodmanager.model.UserType;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.util.Collection;
+
+/**
+ * Usuário autenticado reconstruído a partir das claims do token JWT,
+ * sem consulta ao banco de dados.
+ *
+ * @param tokenId   identificador único do token (claim {@code jti}), usado na revogação
+ * @param expiresAt instante de expiração do token em milissegundos
+ */
+public record JwtPrincipal(Long id, String login, UserType userType, int tokenVersion,
+                           String tokenId, long expiresAt) implements Principal {
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return userType.getAuthorities();
+    }
+
+    @Override
+    public String getName() {
+        return login;
+    }
+}
@@ -1,67 +1,299 @@
 package br.com.food_manager.foodmanager.security;
 
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+    private static final byte[] EXP_KEY = "\"exp\"".getBytes(StandardCharsets.US_ASCII);
+
     @Value("${app.jwtSecret:mySecretKeyThatIsAtLeast32CharactersLongForHS256}")
     private String jwtSecret;
 
-    @Value("${app.jwtExpirationMs:86400000}")
+    @Value("${app.jwtExpirationMs:900000}")
     private int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${app.jwt.verified-cache.maximum-size:50000}")
+    private long verifiedCacheMaximumSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<TokenDigest, JwtPrincipal> verifiedTokens;
+    private Timer issueTimer;
+    private Timer cachedValidationTimer;
+    private Timer verifiedValidationTimer;
+
+    public JwtUtils(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(Expiry.creating((TokenDigest token, JwtPrincipal principal) ->
+                        Duration.ofMillis(Math.max(0, principal.expiresAt() - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerifiedTokens");
+        this.issueTimer = Timer.builder("foodmanager.auth.token.issue")
+                .description("Geração e assinatura de tokens JWT")
+                .register(meterRegistry);
+        this.cachedValidationTimer = validationTimer("cached");
+        this.verifiedValidationTimer = validationTimer("verified");
     }
 
-    public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userPrincipal.getUsername());
+    public String generateToken(User user) {
+        return issueTimer.record(() -> sign(user));
     }
 
-    public String generateTokenFromUsername(String username) {
+    private String sign(User user) {
+        UserType userType = user.getUserType() != null ? user.getUserType() : UserType.CUSTOMER;
+        Date now = new Date();
         return Jwts.builder()
-                .subject(username)
-                .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .id(UUID.randomUUID().toString())
+                .subject(user.getLogin())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, userType.name())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    /**
+     * Verifica assinatura e expiração do token em uma única passada e
+     * devolve o usuário contido nas claims.
+     * <p>
+     * Tokens já verificados ficam em cache, indexados pelo SHA-256 do token, até a sua
+     * própria expiração; requisições seguintes com o mesmo token custam apenas uma consulta
+     * ao cache. Tokens inválidos nunca são armazenados.
+     * <p>
+     * Cada chamada é medida pelo timer {@code foodmanager.auth.token.validation}, com a tag
+     * {@code outcome}: {@code cached}, {@code verified} ou o motivo da recusa.
+     *
+     * @param authToken o token JWT recebido no header Authorization
+     * @return o principal do token, ou o motivo pelo qual o token foi recusado
+     */
+    public JwtValidation validate(String authToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TokenDigest digest = TokenDigest.of(authToken);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            sample.stop(cachedValidationTimer);
+            return JwtValidation.valid(cached);
+        }
+
+        JwtValidation validation = verify(authToken);
+        if (validation.isValid()) {
+            verifiedTokens.put(digest, validation.principal());
+            sample.stop(verifiedValidationTimer);
+        } else {
+            sample.stop(validationTimer(validation.failure().tag()));
+        }
+        return validation;
     }
 
-    public boolean validateJwtToken(String authToken) {
+    private JwtValidation verify(String authToken) {
+        AuthFailureReason precheck = precheck(authToken, System.currentTimeMillis());
+        if (precheck != null) {
+            return JwtValidation.rejected(precheck);
+        }
+
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(authToken).getPayload();
+            Long userId = claims.get(CLAIM_USER_ID, Long.class);
+            String role = claims.get(CLAIM_ROLE, String.class);
+            Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+            if (userId == null || role == null || tokenVersion == null
+                    || claims.getId() == null || claims.getExpiration() == null) {
+                return JwtValidation.rejected(AuthFailureReason.MISSING_CLAIMS);
+            }
+            UserType userType = userType(role);
+            if (userType == null) {
+                return JwtValidation.rejected(AuthFailureReason.INVALID_CLAIMS);
+            }
+            return JwtValidation.valid(new JwtPrincipal(userId, claims.getSubject(), userType,
+                    tokenVersion, claims.getId(), claims.getExpiration().getTime()));
+        } catch (RequiredTypeException e) {
+            return JwtValidation.rejected(AuthFailureReason.INVALID_CLAIMS);
         } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            return JwtValidation.rejected(AuthFailureReason.MALFORMED);
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
+            return JwtValidation.rejected(AuthFailureReason.EXPIRED);
         } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
+            return JwtValidation.rejected(AuthFailureReason.UNSUPPORTED);
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            return JwtValidation.rejected(AuthFailureReason.EMPTY);
+        } catch (JwtException e) {
+            return JwtValidation.rejected(AuthFailureReason.INVALID);
+        }
+    }
+
+    /**
+     * Um token com assinatura válida e papel desconhecido (emitido por outra versão da aplicação
+     * ou com a chave comprometida) é recusado por claims inválidas, não confundido com um token vazio.
+     */
+    private static UserType userType(String role) {
+        try {
+            return UserType.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Classifica, sem calcular o HMAC e sem lançar exceções, os tokens que seriam recusados de
+     * qualquer forma: estrutura diferente de três segmentos Base64URL ou claim {@code exp} já
+     * vencida. Tokens expirados de clientes desatualizados são a recusa mais comum, e o parser
+     * JWT os recusa lançando uma exceção (com stack trace) depois de verificar a assinatura.
+     * <p>
+     * Ler claims não verificadas é seguro aqui porque o resultado só pode recusar um token,
+     * nunca aceitá-lo; os demais seguem para a verificação completa. Tokens que venceram no
+     * último segundo também seguem, e são recusados pelo parser.
+     *
+     * @return o motivo da recusa, ou nulo se o token deve ser verificado
+     */
+    static AuthFailureReason precheck(String token, long nowMillis) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot > 0 ? token.indexOf('.', firstDot + 1) : -1;
+        if (secondDot <= firstDot + 1 || token.indexOf('.', secondDot + 1) >= 0) {
+            return AuthFailureReason.MALFORMED;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (i != firstDot && i != secondDot && !isBase64Url(token.charAt(i))) {
+                return AuthFailureReason.MALFORMED;
+            }
+        }
+        if ((secondDot - firstDot - 1) % 4 == 1) {
+            return AuthFailureReason.MALFORMED;
+        }
+
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot));
+        long expiration = expirationSeconds(payload);
+        if (expiration >= 0 && expiration < nowMillis / 1000) {
+            return AuthFailureReason.EXPIRED;
+        }
+        return null;
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
+    /**
+     * Procura a chave {@code "exp"} no JSON do payload. Dentro de valores de texto as aspas são
+     * escapadas, então {@code "exp"} precedido de '{' ou ',' e seguido de ':' só pode ser uma chave.
+     *
+     * @return o valor de {@code exp} em segundos, ou -1 se ausente ou não numérico
+     */
+    private static long expirationSeconds(byte[] json) {
+        search:
+        for (int i = 0; i + EXP_KEY.length <= json.length; i++) {
+            for (int k = 0; k < EXP_KEY.length; k++) {
+                if (json[i + k] != EXP_KEY[k]) {
+                    continue search;
+                }
+            }
+            int before = i - 1;
+            while (before >= 0 && isJsonWhitespace(json[before])) {
+                before--;
+            }
+            int after = i + EXP_KEY.length;
+            while (after < json.length && isJsonWhitespace(json[after])) {
+                after++;
+            }
+            if (before < 0 || (json[before] != '{' && json[before] != ',')
+                    || after >= json.length || json[after] != ':') {
+                continue;
+            }
+
+            int digit = after + 1;
+            while (digit < json.length && isJsonWhitespace(json[digit])) {
+                digit++;
+            }
+            long value = 0;
+            int digits = 0;
+            while (digit < json.length && json[digit] >= '0' && json[digit] <= '9' && digits < 18) {
+                value = value * 10 + (json[digit] - '0');
+                digit++;
+                digits++;
+            }
+            return digits > 0 ? value : -1;
+        }
+        return -1;
+    }
+
+    private static boolean isJsonWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private Timer validationTimer(String outcome) {
+        return Timer.builder("foodmanager.auth.token.validation")
+                .description("Validação de tokens JWT, incluindo consultas ao cache de tokens verificados")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class TokenDigest {
+
+        private final byte[] value;
+        private final int hash;
+
+        private TokenDigest(byte[] value) {
+            this.value = value;
+            this.hash = Arrays.hashCode(value);
+        }
+
+        static TokenDigest of(String token) {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                return new TokenDigest(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 não disponível", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TokenDigest digest && Arrays.equals(value, digest.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
         }
-        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package br.com.food_manager.foodmanager.security;
+
+/**
+ * Resultado da validação de um token de acesso: o principal, quando o token é válido,
+ * ou o motivo da recusa.
+ */
+public record JwtValidation(JwtPrincipal principal, AuthFailureReason failure) {
+
+    static JwtValidation valid(JwtPrincipal principal) {
+        return new JwtValidation(principal, null);
+    }
+
+    static JwtValidation rejected(AuthFailureReason failure) {
+        return new JwtValidation(null, failure);
+    }
+
+    public boolean isValid() {
+        return principal != null;
+    }
+}
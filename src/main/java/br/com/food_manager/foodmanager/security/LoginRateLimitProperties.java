@@ -0,0 +1,26 @@
+package br.com.food_manager.foodmanager.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limites de tentativas de login ({@code app.security.login-rate-limit.*}).
+ *
+ * @param perLoginCapacity tentativas em rajada permitidas para o mesmo login
+ * @param perLoginInterval intervalo para recuperar uma tentativa do mesmo login
+ * @param perIpCapacity    tentativas em rajada permitidas para o mesmo IP
+ * @param perIpInterval    intervalo para recuperar uma tentativa do mesmo IP
+ * @param maximumKeys      máximo de logins e de IPs monitorados ao mesmo tempo
+ * @param idleTimeout      tempo sem tentativas após o qual o controle de uma chave é descartado
+ */
+@ConfigurationProperties("app.security.login-rate-limit")
+public record LoginRateLimitProperties(
+        @DefaultValue("5") int perLoginCapacity,
+        @DefaultValue("30s") Duration perLoginInterval,
+        @DefaultValue("20") int perIpCapacity,
+        @DefaultValue("3s") Duration perIpInterval,
+        @DefaultValue("100000") long maximumKeys,
+        @DefaultValue("15m") Duration idleTimeout
+) {}
@@ -0,0 +1,89 @@
+package br.com.food_manager.foodmanager.security;
+
+import br.com.food_manager.foodmanager.exception.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limita as tentativas de login por login e por IP antes de qualquer verificação de senha,
+ * para que ataques de força bruta não consumam CPU com BCrypt.
+ * <p>
+ * Cada chave tem o seu próprio {@link TokenBucket} sem locks; os baldes ficam em caches
+ * limitados por quantidade e descartados após um período sem tentativas, então o consumo
+ * de memória não cresce com o número de logins ou IPs atacantes.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final LoginRateLimitProperties properties;
+    private final LongSupplier clock;
+    private final Cache<String, TokenBucket> bucketsByLogin;
+    private final Cache<String, TokenBucket> bucketsByIp;
+    private final Counter throttledByLogin;
+    private final Counter throttledByIp;
+
+    @Autowired
+    public LoginRateLimiter(LoginRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    LoginRateLimiter(LoginRateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.bucketsByLogin = newBucketCache();
+        this.bucketsByIp = newBucketCache();
+        this.throttledByLogin = throttledCounter(meterRegistry, "login");
+        this.throttledByIp = throttledCounter(meterRegistry, "ip");
+    }
+
+    /**
+     * Registra uma tentativa de login.
+     *
+     * @throws TooManyLoginAttemptsException se o IP ou o login excederam o limite
+     */
+    public void checkAttempt(String clientIp, String login) {
+        TokenBucket ipBucket = bucketsByIp.get(clientIp, key ->
+                new TokenBucket(properties.perIpCapacity(), properties.perIpInterval().toNanos(), clock));
+        long ipWait = ipBucket.tryConsume();
+        if (ipWait > 0) {
+            throttledByIp.increment();
+            throw new TooManyLoginAttemptsException(toRetryAfterSeconds(ipWait));
+        }
+
+        String loginKey = login != null ? login.trim().toLowerCase(Locale.ROOT) : "";
+        TokenBucket loginBucket = bucketsByLogin.get(loginKey, key ->
+                new TokenBucket(properties.perLoginCapacity(), properties.perLoginInterval().toNanos(), clock));
+        long loginWait = loginBucket.tryConsume();
+        if (loginWait > 0) {
+            throttledByLogin.increment();
+            throw new TooManyLoginAttemptsException(toRetryAfterSeconds(loginWait));
+        }
+    }
+
+    private Cache<String, TokenBucket> newBucketCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumKeys())
+                .expireAfterAccess(properties.idleTimeout())
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("foodmanager.auth.login.throttled")
+                .description("Tentativas de login rejeitadas pelo limitador")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.food_manager.foodmanager.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do hash de senhas ({@code app.security.password.*}).
+ *
+ * @param strength       custo fixo do BCrypt; quando 0 o custo é calibrado na inicialização
+ * @param targetHashTime tempo alvo de um hash usado na calibração
+ * @param minStrength    menor custo aceito pela calibração
+ * @param maxStrength    maior custo aceito pela calibração
+ * @param threads        threads do pool de hash; quando 0 usa o número de processadores
+ * @param queueCapacity  operações que podem aguardar na fila antes de serem rejeitadas
+ * @param timeout        tempo máximo de espera por uma operação de hash
+ */
+@ConfigurationProperties("app.security.password")
+public record PasswordHashingProperties(
+        @DefaultValue("0") int strength,
+        @DefaultValue("250ms") Duration targetHashTime,
+        @DefaultValue("10") int minStrength,
+        @DefaultValue("14") int maxStrength,
+        @DefaultValue("0") int threads,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("5s") Duration timeout
+) {
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
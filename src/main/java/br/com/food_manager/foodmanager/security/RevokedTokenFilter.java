@@ -0,0 +1,133 @@
+package br.com.food_manager.foodmanager.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lista em memória de tokens de acesso revogados antes da expiração (logout).
+ * <p>
+ * A verificação feita a cada requisição consulta primeiro um filtro de Bloom, que responde
+ * "certamente não revogado" para quase todos os tokens sem alocar memória nem usar locks.
+ * Só os positivos do filtro são confirmados no conjunto exato. Entradas expiradas são
+ * removidas periodicamente e o filtro é reconstruído a partir do conjunto exato; apenas
+ * revogação e reconstrução, ambas raras, são serializadas.
+ * <p>
+ * A lista é local a cada instância; a validade curta dos tokens de acesso limita a janela
+ * em que um token revogado em outra instância ainda é aceito.
+ */
+@Component
+public class RevokedTokenFilter {
+
+    private static final int HASH_FUNCTIONS = 4;
+
+    private final int bitCount;
+    private final ConcurrentMap<String, Long> revokedUntil = new ConcurrentHashMap<>();
+    private final Counter falsePositives;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile AtomicLongArray bits;
+
+    public RevokedTokenFilter(@Value("${app.jwt.revocation.bloom-bits:1048576}") int bitCount,
+                              MeterRegistry meterRegistry) {
+        this.bitCount = bitCount;
+        this.bits = new AtomicLongArray(words(bitCount));
+        this.falsePositives = Counter.builder("foodmanager.auth.revocation.bloom.false-positives")
+                .description("Consultas em que o filtro de Bloom indicou revogação inexistente")
+                .register(meterRegistry);
+        meterRegistry.gauge("foodmanager.auth.revocation.size", revokedUntil, ConcurrentMap::size);
+    }
+
+    public void revoke(String tokenId, long expiresAt) {
+        if (tokenId == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            revokedUntil.put(tokenId, expiresAt);
+            add(bits, tokenId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !mightContain(bits, tokenId)) {
+            return false;
+        }
+        if (revokedUntil.containsKey(tokenId)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.cleanup-interval:1m}")
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            if (!revokedUntil.values().removeIf(expiresAt -> expiresAt <= now)) {
+                return;
+            }
+            AtomicLongArray rebuilt = new AtomicLongArray(words(bitCount));
+            revokedUntil.keySet().forEach(tokenId -> add(rebuilt, tokenId));
+            bits = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void add(AtomicLongArray target, String tokenId) {
+        int h1 = mix(tokenId.hashCode());
+        int h2 = secondaryHash(tokenId);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = index(h1 + i * h2);
+            int word = bit >>> 6;
+            target.set(word, target.get(word) | (1L << bit));
+        }
+    }
+
+    private boolean mightContain(AtomicLongArray target, String tokenId) {
+        int h1 = mix(tokenId.hashCode());
+        int h2 = secondaryHash(tokenId);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = index(h1 + i * h2);
+            if ((target.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int hash) {
+        return (hash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private static int words(int bitCount) {
+        return (bitCount + 63) >>> 6;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int secondaryHash(String value) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x01000193;
+        }
+        return hash | 1;
+    }
+}
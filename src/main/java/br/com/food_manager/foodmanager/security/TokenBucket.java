@@ -0,0 +1,44 @@
+package br.com.food_manager.foodmanager.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket sem locks, implementado como GCRA (generic cell rate algorithm): todo o estado
+ * do balde é um único instante teórico de chegada, atualizado por CAS. O balde comporta até
+ * {@code capacity} tentativas em rajada e recupera uma tentativa a cada {@code intervalNanos}.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, long intervalNanos, LongSupplier clock) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = intervalNanos * capacity;
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Consome uma tentativa.
+     *
+     * @return 0 se a tentativa foi aceita, ou os nanossegundos até a próxima tentativa disponível
+     */
+    long tryConsume() {
+        while (true) {
+            long now = clock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.food_manager.foodmanager.security;
+
+import br.com.food_manager.foodmanager.config.datasource.PrimaryReads;
+import br.com.food_manager.foodmanager.repository.UserRepository;
+import br.com.food_manager.foodmanager.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Mantém em memória a versão atual dos tokens de cada usuário.
+ * Tokens emitidos com uma versão diferente da atual são rejeitados, o que permite
+ * invalidar tokens após troca de senha ou remoção do usuário sem consultar o banco
+ * a cada requisição.
+ * <p>
+ * As versões ficam em um cache limitado por tamanho e com tempo de vida curto
+ * ({@code app.security.token-version.ttl}). Alterações feitas por esta instância valem após o
+ * commit; as feitas por outras instâncias são vistas quando a entrada expira e a versão é lida
+ * de novo do banco principal. Um valor lido antes de uma alteração local nunca sobrescreve a
+ * versão gravada por ela.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final int REVOKED = -1;
+
+    private final Cache<Long, Integer> versions;
+    private final Function<Long, Optional<Integer>> loader;
+
+    @Autowired
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${app.security.token-version.maximum-size:100000}") long maximumSize,
+                                @Value("${app.security.token-version.ttl:30s}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this(id -> PrimaryReads.call(() -> userRepository.findTokenVersionById(id)), maximumSize, ttl, System::nanoTime);
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "tokenVersions");
+    }
+
+    TokenVersionRegistry(Function<Long, Optional<Integer>> loader, long maximumSize, Duration ttl, LongSupplier clock) {
+        this.loader = loader;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(clock::getAsLong)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * A consulta ao banco é feita fora do {@code compute} do Caffeine, que carrega o valor dentro
+     * de um bloco {@code synchronized} e prenderia a thread portadora com threads virtuais.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.getIfPresent(userId);
+        if (current == null) {
+            Integer loaded = loader.apply(userId).orElse(REVOKED);
+            Integer previous = versions.asMap().putIfAbsent(userId, loaded);
+            current = previous != null ? previous : loaded;
+        }
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    public void update(Long userId, int tokenVersion) {
+        TransactionCallbacks.afterCommit(() -> versions.put(userId, tokenVersion));
+    }
+
+    public void revoke(Long userId) {
+        TransactionCallbacks.afterCommit(() -> versions.put(userId, REVOKED));
+    }
+}
@@ -1,25 +1,47 @@
 package br.com.food_manager.foodmanager.service;
 
+import br.com.food_manager.foodmanager.cache.UserCache;
 import br.com.food_manager.foodmanager.model.User;
 import br.com.food_manager.foodmanager.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailService implements UserDetailsService {
+public class CustomUserDetailService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
-    public CustomUserDetailService(UserRepository userRepository) {
+    public CustomUserDetailService(UserRepository userRepository, UserCache userCache) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
     }
 
+    /**
+     * Lê o usuário, com o hash da senha, pelo {@link UserCache}: a falha consulta o banco principal,
+     * e a troca de senha, a alteração e a exclusão removem a entrada, valendo no login seguinte
+     * nesta instância e, nas demais, em até {@code app.cache.users.ttl}.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByLogin(username)
+        return userCache.getByLogin(username, userRepository::findByLogin)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
+    }
+
+    /**
+     * Regrava o hash da senha após um login bem-sucedido quando o hash armazenado usa um
+     * formato ou custo desatualizado. A versão dos tokens não é alterada, pois a senha é a mesma.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        userRepository.updatePassword(user.getId(), newPassword);
+        userCache.evict(user.getId());
         return user;
     }
-}
\ No newline at end of file
+}
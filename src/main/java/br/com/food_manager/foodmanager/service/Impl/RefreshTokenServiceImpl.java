@@ -0,0 +1,113 @@
+package br.com.food_manager.foodmanager.service.Impl;
+
+import br.com.food_manager.foodmanager.exception.InvalidRefreshTokenException;
+import br.com.food_manager.foodmanager.exception.UserNotFoundException;
+import br.com.food_manager.foodmanager.model.RefreshToken;
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.repository.RefreshTokenRepository;
+import br.com.food_manager.foodmanager.service.RefreshTokenService;
+import br.com.food_manager.foodmanager.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+
+@Service
+@Transactional
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserService userService;
+    private final Duration expiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, UserService userService,
+                                   @Value("${app.jwt.refresh-token.expiration:7d}") Duration expiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userService = userService;
+        this.expiration = expiration;
+    }
+
+    @Override
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Date expiresAt = new Date(System.currentTimeMillis() + expiration.toMillis());
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), user.getId(), expiresAt));
+        return rawToken;
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public User consume(String rawToken) {
+        if (!StringUtils.hasText(rawToken)) {
+            throw new InvalidRefreshTokenException("Refresh token é obrigatório");
+        }
+
+        String tokenHash = hash(rawToken);
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token inválido"));
+
+        if (refreshToken.isRevoked()) {
+            throw reuseDetected(refreshToken);
+        }
+
+        if (refreshToken.isExpired()) {
+            throw new InvalidRefreshTokenException("Refresh token expirado");
+        }
+
+        // A leitura acima não bloqueia a linha: a revogação condicional decide qual de dois usos
+        // simultâneos do mesmo token vence; o outro é tratado como reutilização
+        if (refreshTokenRepository.revokeIfActive(tokenHash) == 0) {
+            throw reuseDetected(refreshToken);
+        }
+
+        try {
+            return userService.findById(refreshToken.getUserId());
+        } catch (UserNotFoundException e) {
+            throw new InvalidRefreshTokenException("Refresh token inválido");
+        }
+    }
+
+    @Override
+    public void revoke(String rawToken) {
+        if (!StringUtils.hasText(rawToken)) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(refreshToken -> refreshToken.setRevoked(true));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-token.cleanup-interval:1h}")
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(new Date());
+    }
+
+    private InvalidRefreshTokenException reuseDetected(RefreshToken refreshToken) {
+        refreshTokenRepository.revokeAllByUserId(refreshToken.getUserId());
+        return new InvalidRefreshTokenException("Refresh token já utilizado ou revogado");
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+}
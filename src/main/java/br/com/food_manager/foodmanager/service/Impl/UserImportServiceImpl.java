@@ -0,0 +1,217 @@
+package br.com.food_manager.foodmanager.service.Impl;
+
+import br.com.food_manager.foodmanager.exception.PasswordHashingUnavailableException;
+import br.com.food_manager.foodmanager.exception.UniqueConstraintResolver;
+import br.com.food_manager.foodmanager.exception.UserAlreadyExistsException;
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.model.dto.UserImportError;
+import br.com.food_manager.foodmanager.model.dto.UserImportResult;
+import br.com.food_manager.foodmanager.model.dto.UserRequest;
+import br.com.food_manager.foodmanager.repository.UserRepository;
+import br.com.food_manager.foodmanager.search.UserSearchIndex;
+import br.com.food_manager.foodmanager.security.BoundedPasswordEncoder;
+import br.com.food_manager.foodmanager.service.UserImportService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (name, email, login, password, address, user_type, last_updated)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private final UserRepository userRepository;
+    private final UserSearchIndex userSearchIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final int batchSize;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public UserImportServiceImpl(UserRepository userRepository, UserSearchIndex userSearchIndex,
+                                 JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 BoundedPasswordEncoder passwordEncoder, Validator validator,
+                                 @Value("${app.user-import.batch-size:500}") int batchSize,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userSearchIndex = userSearchIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.importedRows = Counter.builder("foodmanager.users.import.rows").tag("outcome", "imported")
+                .description("Linhas da importação de usuários").register(meterRegistry);
+        this.rejectedRows = Counter.builder("foodmanager.users.import.rows").tag("outcome", "rejected")
+                .description("Linhas da importação de usuários").register(meterRegistry);
+    }
+
+    @Override
+    public UserImportResult importUsers(Iterator<Row> rows) {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            progress.total++;
+            String error = validate(row, progress);
+            if (error != null) {
+                progress.reject(row, error);
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                importBatch(batch, progress);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, progress);
+        }
+
+        if (progress.imported > 0) {
+            userSearchIndex.usersChanged();
+        }
+
+        progress.errors.sort(Comparator.comparingLong(UserImportError::row));
+        importedRows.increment(progress.imported);
+        rejectedRows.increment(progress.errors.size());
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos > 0 ? progress.total * 1e9 / elapsedNanos : 0;
+        return new UserImportResult(progress.total, progress.imported, progress.errors.size(),
+                elapsedNanos / 1_000_000, Math.round(rowsPerSecond * 10) / 10.0, progress.errors);
+    }
+
+    private String validate(Row row, ImportProgress progress) {
+        if (row.parseError() != null) {
+            return row.parseError();
+        }
+        Set<ConstraintViolation<UserRequest>> violations = validator.validate(row.request());
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!progress.emails.add(row.request().email())) {
+            return "Email '" + row.request().email() + "' repetido na importação";
+        }
+        if (!progress.logins.add(row.request().login())) {
+            return "Login '" + row.request().login() + "' repetido na importação";
+        }
+        return null;
+    }
+
+    private void importBatch(List<Row> batch, ImportProgress progress) {
+        Set<String> existingEmails = userRepository.findExistingEmails(
+                batch.stream().map(row -> row.request().email()).toList());
+        Set<String> existingLogins = userRepository.findExistingLogins(
+                batch.stream().map(row -> row.request().login()).toList());
+
+        List<Row> accepted = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (existingEmails.contains(row.request().email())) {
+                progress.reject(row, new UserAlreadyExistsException("email", row.request().email()).getMessage());
+            } else if (existingLogins.contains(row.request().login())) {
+                progress.reject(row, new UserAlreadyExistsException("login", row.request().login()).getMessage());
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes;
+        try {
+            hashes = passwordEncoder.encodeAll(accepted.stream().map(row -> row.request().password()).toList());
+        } catch (PasswordHashingUnavailableException e) {
+            accepted.forEach(row -> progress.reject(row, e.getMessage()));
+            return;
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER,
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            bind(ps, accepted.get(i).request(), hashes.get(i), now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return accepted.size();
+                        }
+                    }));
+            progress.imported += accepted.size();
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição criou um email ou login do lote depois da verificação:
+            // insere linha a linha para aceitar as demais e apontar apenas as conflitantes
+            for (int i = 0; i < accepted.size(); i++) {
+                insertSingle(accepted.get(i), hashes.get(i), now, progress);
+            }
+        }
+    }
+
+    private void insertSingle(Row row, String hash, Timestamp now, ImportProgress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(INSERT_USER, ps -> bind(ps, row.request(), hash, now)));
+            progress.imported++;
+        } catch (DataIntegrityViolationException e) {
+            String field = UniqueConstraintResolver.violatedField(e).orElse(null);
+            progress.reject(row, field == null ? "Violação de integridade de dados"
+                    : new UserAlreadyExistsException(field,
+                            "email".equals(field) ? row.request().email() : row.request().login()).getMessage());
+        }
+    }
+
+    private static void bind(PreparedStatement ps, UserRequest request, String hash, Timestamp now) throws SQLException {
+        UserType userType = request.userType() != null ? request.userType() : UserType.CUSTOMER;
+        ps.setString(1, request.name());
+        ps.setString(2, request.email());
+        ps.setString(3, request.login());
+        ps.setString(4, hash);
+        ps.setString(5, request.address());
+        ps.setString(6, userType.name());
+        ps.setTimestamp(7, now);
+    }
+
+    private static final class ImportProgress {
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> logins = new HashSet<>();
+        private final List<UserImportError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+
+        void reject(Row row, String message) {
+            errors.add(new UserImportError(row.number(), message));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.food_manager.foodmanager.service.Impl;
+
+import br.com.food_manager.foodmanager.repository.UserRepository;
+import br.com.food_manager.foodmanager.service.UserPurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+
+@Service
+@ConditionalOnProperty(name = "app.user-deletion.soft-delete", havingValue = "true")
+public class UserPurgeServiceImpl implements UserPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPurgeServiceImpl.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final Counter purgedRows;
+
+    public UserPurgeServiceImpl(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                                @Value("${app.user-deletion.purge.retention:7d}") Duration retention,
+                                @Value("${app.user-deletion.purge.batch-size:500}") int batchSize,
+                                MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.purgedRows = Counter.builder("foodmanager.users.purged")
+                .description("Usuários excluídos logicamente e removidos pelo expurgo").register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.user-deletion.purge.interval:5m}")
+    public int purgeDeleted() {
+        Date deletedBefore = new Date(System.currentTimeMillis() - retention.toMillis());
+        int total = 0;
+        int purged;
+        do {
+            purged = transactionTemplate.execute(status -> userRepository.purgeDeleted(deletedBefore, batchSize));
+            purgedRows.increment(purged);
+            total += purged;
+        } while (purged == batchSize);
+
+        if (total > 0) {
+            logger.info("Expurgo removeu {} usuários excluídos antes de {}", total, deletedBefore.toInstant());
+        }
+        return total;
+    }
+}
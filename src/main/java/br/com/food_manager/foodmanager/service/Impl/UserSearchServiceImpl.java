@@ -0,0 +1,43 @@
+package br.com.food_manager.foodmanager.service.Impl;
+
+import br.com.food_manager.foodmanager.exception.InvalidUserDataException;
+import br.com.food_manager.foodmanager.model.dto.SearchPage;
+import br.com.food_manager.foodmanager.model.dto.UserSearchHit;
+import br.com.food_manager.foodmanager.search.SearchTerms;
+import br.com.food_manager.foodmanager.search.UserSearchIndex;
+import br.com.food_manager.foodmanager.service.UserSearchService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class UserSearchServiceImpl implements UserSearchService {
+
+    private final UserSearchIndex userSearchIndex;
+
+    public UserSearchServiceImpl(UserSearchIndex userSearchIndex) {
+        this.userSearchIndex = userSearchIndex;
+    }
+
+    @Override
+    public SearchPage<UserSearchHit> search(String query, int page, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidUserDataException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+
+        if (page < 0 || (long) (page + 1) * size > MAX_RESULTS) {
+            throw new InvalidUserDataException(
+                    "A busca alcança no máximo " + MAX_RESULTS + " resultados; refine os termos");
+        }
+
+        List<String> terms = SearchTerms.parse(query);
+        List<UserSearchHit> hits = userSearchIndex.search(terms, page * size, size + 1);
+
+        if (hits.size() <= size) {
+            return new SearchPage<>(hits, page, size, false);
+        }
+        return new SearchPage<>(hits.subList(0, size), page, size, true);
+    }
+}
@@ -1,29 +1,72 @@
 package br.com.food_manager.foodmanager.service.Impl;
 
+import br.com.food_manager.foodmanager.cache.UserCache;
 import br.com.food_manager.foodmanager.exception.InvalidUserDataException;
+import br.com.food_manager.foodmanager.exception.UniqueConstraintResolver;
 import br.com.food_manager.foodmanager.exception.UserAlreadyExistsException;
 import br.com.food_manager.foodmanager.exception.UserNotFoundException;
+import br.com.food_manager.foodmanager.exception.UserVersionConflictException;
+import br.com.food_manager.foodmanager.exception.UserVersionRequiredException;
 import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.model.dto.CursorPage;
+import br.com.food_manager.foodmanager.model.dto.UserBulkDeleteResult;
+import br.com.food_manager.foodmanager.model.dto.UserPageStamp;
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import br.com.food_manager.foodmanager.repository.RefreshTokenRepository;
 import br.com.food_manager.foodmanager.repository.UserRepository;
+import br.com.food_manager.foodmanager.search.UserSearchIndex;
+import br.com.food_manager.foodmanager.security.TokenVersionRegistry;
 import br.com.food_manager.foodmanager.service.UserService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Cada método público é medido pelo timer {@code foodmanager.users.service}, com as tags
+ * {@code method} e {@code exception} ({@code none} quando termina normalmente).
+ */
 @Service
 @Transactional
+@Timed(value = "foodmanager.users.service", description = "Operações do serviço de usuários")
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserCache userCache;
+    private final UserSearchIndex userSearchIndex;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final EntityManager entityManager;
+    private final boolean softDelete;
+
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           TokenVersionRegistry tokenVersionRegistry, UserCache userCache,
+                           UserSearchIndex userSearchIndex, RefreshTokenRepository refreshTokenRepository,
+                           EntityManager entityManager,
+                           @Value("${app.user-deletion.soft-delete:false}") boolean softDelete) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.userCache = userCache;
+        this.userSearchIndex = userSearchIndex;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.entityManager = entityManager;
+        this.softDelete = softDelete;
     }
 
     @Override
@@ -32,10 +75,12 @@ public class UserServiceImpl implements UserService {
             throw new InvalidUserDataException("Usuário não pode ser nulo");
         }
 
-        validateUserData(user);
         user.setLastUpdated(new Date());
 
-        return userRepository.save(user);
+        User saved = saveAndFlush(user);
+        userCache.evict(saved.getId());
+        userSearchIndex.usersChanged();
+        return saved;
     }
 
     @Override
@@ -45,14 +90,71 @@ public class UserServiceImpl implements UserService {
             throw new InvalidUserDataException("ID do usuário não pode ser nulo");
         }
 
+        return userCache.getById(id, userRepository::findById)
+                .orElseThrow(() -> new UserNotFoundException(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserResponse findResponseById(Long id) {
+        if (id == null) {
+            throw new InvalidUserDataException("ID do usuário não pode ser nulo");
+        }
+
+        return userCache.getResponseById(id, userRepository::findResponseById)
+                .orElseThrow(() -> new UserNotFoundException(id));
+    }
+
+    private User loadForUpdate(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<User> findAll() {
-        return userRepository.findAll();
+    public CursorPage<UserResponse> findAll(Long afterId, int size, UserType userType) {
+        validatePageSize(size);
+
+        long cursor = afterId != null ? afterId : 0L;
+        Limit limit = Limit.of(size + 1);
+        List<UserResponse> users = userType != null
+                ? userRepository.findResponsePageByUserType(userType, cursor, limit)
+                : userRepository.findResponsePage(cursor, limit);
+
+        if (users.size() <= size) {
+            return new CursorPage<>(users, size, null);
+        }
+        List<UserResponse> page = users.subList(0, size);
+        return new CursorPage<>(page, size, page.get(size - 1).id());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPageStamp pageStamp(Long afterId, int size, UserType userType) {
+        validatePageSize(size);
+
+        // A janela inclui o usuário extra que decide o cursor da próxima página, como em findAll
+        return userRepository.findPageStamp(afterId != null ? afterId : 0L, size + 1, userType);
+    }
+
+    private static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidUserDataException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachUser(Consumer<User> consumer) {
+        long count = 0;
+        try (Stream<User> users = userRepository.streamAll()) {
+            for (User user : (Iterable<User>) users::iterator) {
+                consumer.accept(user);
+                entityManager.detach(user);
+                count++;
+            }
+        }
+        return count;
     }
 
     @Override
@@ -61,15 +163,64 @@ public class UserServiceImpl implements UserService {
             throw new InvalidUserDataException("ID do usuário não pode ser nulo");
         }
 
-        if (!userRepository.existsById(id)) {
+        if (delete(List.of(id)) == 0) {
             throw new UserNotFoundException(id);
         }
+    }
+
+    @Override
+    public UserBulkDeleteResult deleteByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidUserDataException("Informe ao menos um ID");
+        }
+
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new InvalidUserDataException("IDs não podem ser nulos");
+            }
+            requested.add(id);
+        }
+        if (requested.size() > MAX_BULK_DELETE_SIZE) {
+            throw new InvalidUserDataException("Informe no máximo " + MAX_BULK_DELETE_SIZE + " IDs por requisição");
+        }
+
+        Set<Long> existing = userRepository.findExistingIds(requested);
+        int deleted = existing.isEmpty() ? 0 : delete(existing);
+        List<Long> notFound = requested.stream()
+                .filter(id -> !existing.contains(id))
+                .toList();
+        return new UserBulkDeleteResult(requested.size(), deleted, notFound);
+    }
+
+    /**
+     * Remove ou marca como excluídos os usuários informados em um único comando. Os tokens só
+     * são revogados para IDs de usuários existentes, pois a revogação vale para o ID e não deve
+     * atingir um usuário criado depois com o mesmo identificador.
+     */
+    private int delete(Collection<Long> ids) {
+        int deleted;
+        if (softDelete) {
+            deleted = userRepository.markDeletedByIds(ids, new Date());
+            if (deleted > 0) {
+                refreshTokenRepository.revokeAllByUserIdIn(ids);
+            }
+        } else {
+            deleted = userRepository.deleteByIds(ids);
+        }
 
-        userRepository.deleteById(id);
+        if (deleted > 0) {
+            for (Long id : ids) {
+                tokenVersionRegistry.revoke(id);
+                userCache.evict(id);
+            }
+            userSearchIndex.usersChanged();
+        }
+        return deleted;
     }
 
     @Override
-    public User update(Long id, User userUpdates) {
+    public UserResponse update(Long id, User userUpdates, Long expectedVersion) {
         if (id == null) {
             throw new InvalidUserDataException("ID do usuário não pode ser nulo");
         }
@@ -78,48 +229,30 @@ public class UserServiceImpl implements UserService {
             throw new InvalidUserDataException("Dados para atualização não podem ser nulos");
         }
 
-        User existingUser = findById(id);
-
-        updateName(existingUser, userUpdates);
-        updateEmail(existingUser, userUpdates, id);
-        updateLogin(existingUser, userUpdates, id);
-        updateAddress(existingUser, userUpdates);
-
-        existingUser.setLastUpdated(new Date());
-
-        return userRepository.save(existingUser);
-    }
-
-    private void updateName(User existing, User updates) {
-        if (StringUtils.hasText(updates.getName())) {
-            existing.setName(updates.getName());
+        if (expectedVersion == null) {
+            throw new UserVersionRequiredException();
         }
-    }
 
-    private void updateEmail(User existing, User updates, Long id) {
-        if (StringUtils.hasText(updates.getEmail())) {
-            if (!updates.getEmail().equals(existing.getEmail()) &&
-                userRepository.existsByEmailAndIdNot(updates.getEmail(), id)) {
-                throw new UserAlreadyExistsException("email", updates.getEmail());
-            }
-            existing.setEmail(updates.getEmail());
+        userUpdates.setLastUpdated(new Date());
+
+        int updated;
+        try {
+            updated = userRepository.updateChangedFields(id, expectedVersion, userUpdates);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyExists(e, userUpdates);
         }
-    }
 
-    private void updateLogin(User existing, User updates, Long id) {
-        if (StringUtils.hasText(updates.getLogin())) {
-            if (!updates.getLogin().equals(existing.getLogin()) &&
-                userRepository.existsByLoginAndIdNot(updates.getLogin(), id)) {
-                throw new UserAlreadyExistsException("login", updates.getLogin());
+        if (updated == 0) {
+            if (userRepository.existsById(id)) {
+                throw new UserVersionConflictException(id, expectedVersion);
             }
-            existing.setLogin(updates.getLogin());
+            throw new UserNotFoundException(id);
         }
-    }
 
-    private void updateAddress(User existing, User updates) {
-        if (StringUtils.hasText(updates.getAddress())) {
-            existing.setAddress(updates.getAddress());
-        }
+        userCache.evict(id);
+        userSearchIndex.usersChanged();
+        return userRepository.findResponseById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
     }
 
     @Override
@@ -129,7 +262,7 @@ public class UserServiceImpl implements UserService {
             throw new InvalidUserDataException("Login não pode ser vazio");
         }
 
-        return userRepository.findByLogin(login)
+        return userCache.getByLogin(login, userRepository::findByLogin)
                 .orElseThrow(() -> new UserNotFoundException("login", login));
     }
 
@@ -147,27 +280,35 @@ public class UserServiceImpl implements UserService {
             throw new InvalidUserDataException("Nova senha é obrigatória");
         }
 
-        User user = findById(userId);
+        User user = loadForUpdate(userId);
 
         if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
             throw new InvalidUserDataException("Senha atual incorreta");
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         user.setLastUpdated(new Date());
         userRepository.save(user);
+        refreshTokenRepository.revokeAllByUserId(user.getId());
+        tokenVersionRegistry.update(user.getId(), user.getTokenVersion());
+        userCache.evict(user.getId());
     }
 
-    private void validateUserData(User user) {
-        if (user == null) {
-            throw new InvalidUserDataException("Usuário não pode ser nulo");
-        }
-        if (StringUtils.hasText(user.getEmail()) && userRepository.existsByEmail(user.getEmail())) {
-            throw new UserAlreadyExistsException("email", user.getEmail());
+    /**
+     * Grava o usuário imediatamente e confia nas restrições UNIQUE de email e login em vez de
+     * consultar antes: um único comando por escrita, correto mesmo com requisições concorrentes.
+     */
+    private User saveAndFlush(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyExists(e, user);
         }
+    }
 
-        if (StringUtils.hasText(user.getLogin()) && userRepository.existsByLogin(user.getLogin())) {
-            throw new UserAlreadyExistsException("login", user.getLogin());
-        }
+    private static UserAlreadyExistsException alreadyExists(DataIntegrityViolationException e, User user) {
+        String field = UniqueConstraintResolver.violatedField(e).orElseThrow(() -> e);
+        return new UserAlreadyExistsException(field, "email".equals(field) ? user.getEmail() : user.getLogin());
     }
 }
@@ -0,0 +1,39 @@
+package br.com.food_manager.foodmanager.service;
+
+import br.com.food_manager.foodmanager.exception.InvalidRefreshTokenException;
+import br.com.food_manager.foodmanager.model.User;
+
+/**
+ * Interface de serviço para emissão e renovação de refresh tokens.
+ * Apenas o hash SHA-256 de cada token é persistido.
+ *
+ * @author FoodManager Team
+ * @since 1.0
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Emite um novo refresh token para o usuário.
+     *
+     * @param user o usuário autenticado
+     * @return o refresh token em texto, que só é conhecido pelo cliente
+     */
+    String issue(User user);
+
+    /**
+     * Consome um refresh token, revogando-o, e retorna o usuário dono do token.
+     * A reutilização de um token já revogado revoga todos os refresh tokens do usuário.
+     *
+     * @param rawToken o refresh token enviado pelo cliente
+     * @return o usuário dono do token
+     * @throws InvalidRefreshTokenException se o token não existir, estiver expirado ou revogado
+     */
+    User consume(String rawToken);
+
+    /**
+     * Revoga um refresh token, se existir.
+     *
+     * @param rawToken o refresh token enviado pelo cliente
+     */
+    void revoke(String rawToken);
+}
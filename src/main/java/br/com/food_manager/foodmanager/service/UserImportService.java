@@ -0,0 +1,45 @@
+package br.com.food_manager.foodmanager.service;
+
+import br.com.food_manager.foodmanager.model.dto.UserImportResult;
+import br.com.food_manager.foodmanager.model.dto.UserRequest;
+
+import java.util.Iterator;
+
+/**
+ * Interface de serviço para criação de usuários em lote.
+ *
+ * @author FoodManager Team
+ * @since 1.0
+ */
+public interface UserImportService {
+
+    /**
+     * Importa usuários lidos de uma fonte em streaming, em lotes de tamanho configurável
+     * ({@code app.user-import.batch-size}). Cada lote é validado, tem a unicidade de email e
+     * login verificada em uma única consulta, as senhas processadas em paralelo e é inserido
+     * com JDBC batch na sua própria transação. Linhas inválidas não interrompem a importação;
+     * são devolvidas no resultado junto com o número da linha.
+     *
+     * @param rows as linhas a importar, consumidas uma única vez
+     * @return quantidades importadas e rejeitadas, vazão e erros por linha
+     */
+    UserImportResult importUsers(Iterator<Row> rows);
+
+    /**
+     * Uma linha da fonte de importação.
+     *
+     * @param number     número da linha na fonte, usado nas mensagens de erro
+     * @param request    os dados do usuário, ou nulo se a linha não pôde ser lida
+     * @param parseError o motivo pelo qual a linha não pôde ser lida, ou nulo
+     */
+    record Row(long number, UserRequest request, String parseError) {
+
+        public static Row of(long number, UserRequest request) {
+            return new Row(number, request, null);
+        }
+
+        public static Row invalid(long number, String parseError) {
+            return new Row(number, null, parseError);
+        }
+    }
+}
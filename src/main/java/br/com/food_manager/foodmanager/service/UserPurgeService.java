@@ -0,0 +1,21 @@
+package br.com.food_manager.foodmanager.service;
+
+/**
+ * Interface de serviço para a remoção definitiva de usuários excluídos logicamente.
+ * Ativa apenas com {@code app.user-deletion.soft-delete=true}.
+ *
+ * @author FoodManager Team
+ * @since 1.0
+ */
+public interface UserPurgeService {
+
+    /**
+     * Remove definitivamente os usuários excluídos há mais tempo que a retenção configurada
+     * ({@code app.user-deletion.purge.retention}), em lotes de {@code app.user-deletion.purge.batch-size}
+     * linhas, cada lote na sua própria transação. Assim, uma limpeza grande nunca mantém bloqueios
+     * longos sobre a tabela {@code users}; a execução termina quando um lote vem incompleto.
+     *
+     * @return a quantidade de usuários removidos
+     */
+    int purgeDeleted();
+}
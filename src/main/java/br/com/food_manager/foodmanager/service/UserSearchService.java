@@ -0,0 +1,32 @@
+package br.com.food_manager.foodmanager.service;
+
+import br.com.food_manager.foodmanager.exception.InvalidUserDataException;
+import br.com.food_manager.foodmanager.model.dto.SearchPage;
+import br.com.food_manager.foodmanager.model.dto.UserSearchHit;
+
+/**
+ * Interface de serviço para busca de usuários por nome, email e endereço.
+ *
+ * @author FoodManager Team
+ * @since 1.0
+ */
+public interface UserSearchService {
+
+    int DEFAULT_PAGE_SIZE = 20;
+    int MAX_PAGE_SIZE = 50;
+    int MAX_RESULTS = 1000;
+
+    /**
+     * Busca usuários em que cada termo informado inicia uma palavra do nome, email ou endereço,
+     * ordenados por relevância. Termos com menos de 3 caracteres são ignorados. A paginação
+     * alcança no máximo os {@value #MAX_RESULTS} primeiros resultados; além disso a busca deve
+     * ser refinada.
+     *
+     * @param query o texto da busca
+     * @param page  o número da página, a partir de 0
+     * @param size  resultados por página, entre 1 e {@value #MAX_PAGE_SIZE}
+     * @return a página de resultados
+     * @throws InvalidUserDataException se não houver termo válido ou a página estiver fora do limite
+     */
+    SearchPage<UserSearchHit> search(String query, int page, int size);
+}
@@ -3,9 +3,17 @@ package br.com.food_manager.foodmanager.service;
 import br.com.food_manager.foodmanager.exception.InvalidUserDataException;
 import br.com.food_manager.foodmanager.exception.UserAlreadyExistsException;
 import br.com.food_manager.foodmanager.exception.UserNotFoundException;
+import br.com.food_manager.foodmanager.exception.UserVersionConflictException;
+import br.com.food_manager.foodmanager.exception.UserVersionRequiredException;
 import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.model.dto.CursorPage;
+import br.com.food_manager.foodmanager.model.dto.UserBulkDeleteResult;
+import br.com.food_manager.foodmanager.model.dto.UserPageStamp;
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Interface de serviço para gerenciamento de usuários.
@@ -16,6 +24,10 @@ import java.util.List;
  */
 public interface UserService {
 
+    int DEFAULT_PAGE_SIZE = 20;
+    int MAX_PAGE_SIZE = 100;
+    int MAX_BULK_DELETE_SIZE = 1000;
+
     /**
      * Salva um novo usuário no sistema.
      * 
@@ -37,14 +49,56 @@ public interface UserService {
     User findById(Long id);
 
     /**
-     * Retorna todos os usuários cadastrados no sistema.
-     * 
-     * @return lista com todos os usuários
+     * Busca os dados públicos de um usuário pelo seu ID, sem carregar a entidade.
+     *
+     * @param id o identificador único do usuário
+     * @return os dados de resposta do usuário
+     * @throws InvalidUserDataException se o ID for nulo
+     * @throws UserNotFoundException se o usuário não for encontrado
+     */
+    UserResponse findResponseById(Long id);
+
+    /**
+     * Lista usuários em ordem de ID, uma página por vez, a partir do cursor informado.
+     * A consulta usa {@code id > afterId} em vez de OFFSET, com custo constante em qualquer página,
+     * e seleciona apenas os campos de resposta.
+     *
+     * @param afterId ID do último usuário da página anterior, ou nulo para a primeira página
+     * @param size quantidade de usuários por página, entre 1 e {@value #MAX_PAGE_SIZE}
+     * @param userType filtro opcional por tipo de usuário
+     * @return a página de usuários e o cursor da próxima página
+     * @throws InvalidUserDataException se o tamanho da página estiver fora do limite
+     */
+    CursorPage<UserResponse> findAll(Long afterId, int size, UserType userType);
+
+    /**
+     * Resume, sem ler os dados dos usuários, a página que {@link #findAll} devolveria com os
+     * mesmos parâmetros. Serve de validador (ETag) para a listagem: uma requisição condicional
+     * respondida com 304 não consulta a página.
+     *
+     * @param afterId ID do último usuário da página anterior, ou nulo para a primeira página
+     * @param size quantidade de usuários por página, entre 1 e {@value #MAX_PAGE_SIZE}
+     * @param userType filtro opcional por tipo de usuário
+     * @return o resumo da página
+     * @throws InvalidUserDataException se o tamanho da página estiver fora do limite
+     */
+    UserPageStamp pageStamp(Long afterId, int size, UserType userType);
+
+    /**
+     * Percorre todos os usuários em ordem de ID, entregando um por vez ao consumidor.
+     * Cada usuário é desanexado da sessão após ser consumido, de modo que o uso de memória
+     * não depende do tamanho da tabela.
+     *
+     * @param consumer recebe cada usuário; não deve guardar referências aos objetos recebidos
+     * @return a quantidade de usuários percorridos
      */
-    List<User> findAll();
+    long forEachUser(Consumer<User> consumer);
 
     /**
-     * Remove um usuário do sistema pelo seu ID.
+     * Remove um usuário do sistema pelo seu ID, com um único comando: a existência do usuário é
+     * decidida pela quantidade de linhas afetadas. Com {@code app.user-deletion.soft-delete=true}
+     * o usuário é apenas marcado como excluído, deixa de ser visível imediatamente e é removido
+     * depois pela rotina de expurgo.
      * 
      * @param id o identificador único do usuário a ser removido
      * @throws InvalidUserDataException se o ID for nulo
@@ -53,16 +107,30 @@ public interface UserService {
     void deleteById(Long id);
 
     /**
-     * Atualiza os dados de um usuário existente.
-     * 
+     * Remove vários usuários em uma única transação: uma consulta identifica os IDs existentes
+     * e um único comando remove (ou marca como excluídos) todos eles.
+     *
+     * @param ids os IDs dos usuários, no máximo {@value #MAX_BULK_DELETE_SIZE} distintos
+     * @return quantos usuários foram removidos e quais IDs não existem
+     * @throws InvalidUserDataException se a lista for vazia, contiver nulos ou exceder o limite
+     */
+    UserBulkDeleteResult deleteByIds(Collection<Long> ids);
+
+    /**
+     * Atualiza os dados de um usuário existente com um único UPDATE que altera apenas os campos
+     * preenchidos, sem carregar o usuário antes.
+     *
      * @param id o identificador único do usuário a ser atualizado
-     * @param user objeto contendo os novos dados do usuário
-     * @return o usuário atualizado
+     * @param user objeto contendo os novos dados do usuário; campos nulos ou vazios são mantidos
+     * @param expectedVersion versão lida pelo cliente; sem ela uma escrita concorrente seria sobrescrita
+     * @return os dados do usuário após a atualização
      * @throws InvalidUserDataException se o ID ou dados do usuário forem nulos
+     * @throws UserVersionRequiredException se a versão não for informada
      * @throws UserNotFoundException se o usuário não for encontrado
+     * @throws UserVersionConflictException se o usuário foi alterado depois da versão informada
      * @throws UserAlreadyExistsException se já existir outro usuário com o mesmo email ou login
      */
-    User update(Long id, User user);
+    UserResponse update(Long id, User user, Long expectedVersion);
 
     /**
      * Busca um usuário pelo seu login.
@@ -0,0 +1,29 @@
+package br.com.food_manager.foodmanager.timing;
+
+/**
+ * Fases de uma requisição medidas pelo {@link RequestTimings}. O nome de cada fase é o usado no
+ * header {@code Server-Timing} e no diário de requisições lentas.
+ */
+public enum RequestPhase {
+
+    /** Validação do token de acesso no {@code AuthTokenFilter}. */
+    AUTH("auth"),
+    /** Chamadas aos serviços da aplicação. */
+    SERVICE("service"),
+    /** Chamadas aos repositórios, incluindo as feitas pelos serviços. */
+    DB("db"),
+    /** Hash e verificação de senhas, incluindo a espera no pool do BCrypt. */
+    BCRYPT("bcrypt"),
+    /** Serialização do corpo da resposta em JSON. */
+    JSON("json");
+
+    private final String metricName;
+
+    RequestPhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
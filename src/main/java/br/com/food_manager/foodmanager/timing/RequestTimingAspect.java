@@ -0,0 +1,35 @@
+package br.com.food_manager.foodmanager.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alimenta o {@link RequestTimings} com as chamadas aos serviços e aos repositórios (Spring
+ * Data e as classes anotadas com {@code @Repository}, como os índices de busca).
+ */
+@Aspect
+@Component
+public class RequestTimingAspect {
+
+    @Around("within(br.com.food_manager.foodmanager.service..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(joinPoint, RequestPhase.SERVICE);
+    }
+
+    @Around("target(org.springframework.data.repository.Repository) "
+            + "|| @within(org.springframework.stereotype.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(joinPoint, RequestPhase.DB);
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint, RequestPhase phase) throws Throwable {
+        long start = RequestTimings.begin(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTimings.end(phase, start);
+        }
+    }
+}
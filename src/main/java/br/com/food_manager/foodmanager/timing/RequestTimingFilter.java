@@ -0,0 +1,95 @@
+package br.com.food_manager.foodmanager.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Mede as fases de cada requisição ({@link RequestTimings}) e as devolve no header
+ * {@code Server-Timing}, exibido pelas ferramentas de desenvolvedor dos navegadores. Roda antes
+ * do filtro do Spring Security para que a validação do token também seja medida.
+ * <p>
+ * O header é escrito no momento em que a resposta é enviada, com as fases concluídas até ali.
+ * Como o envio acontece durante a serialização, a fase {@code json} nunca aparece no header, e
+ * respostas maiores que o buffer do servlet saem sem ele. As requisições que passam de {@code app.request-timing.slow-threshold} são registradas, com
+ * todas as fases, no {@link SlowRequestJournal}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final SlowRequestJournal journal;
+    private final boolean enabled;
+    private final boolean serverTimingHeader;
+    private final long slowThresholdNanos;
+
+    public RequestTimingFilter(SlowRequestJournal journal,
+                               @Value("${app.request-timing.enabled:true}") boolean enabled,
+                               @Value("${app.request-timing.server-timing-header:true}") boolean serverTimingHeader,
+                               @Value("${app.request-timing.slow-threshold:500ms}") Duration slowThreshold) {
+        this.journal = journal;
+        this.enabled = enabled;
+        this.serverTimingHeader = serverTimingHeader;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.open();
+        ServerTimingResponseWrapper timedResponse = new ServerTimingResponseWrapper(response, timings);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            RequestTimings.close();
+            if (!response.isCommitted()) {
+                timedResponse.writeServerTiming();
+            }
+            long elapsedNanos = timings.elapsedNanos();
+            if (elapsedNanos >= slowThresholdNanos) {
+                journal.record(new SlowRequest(Instant.now(), request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), RequestTimings.toMillis(elapsedNanos), timings.phases()));
+            }
+        }
+    }
+
+    private final class ServerTimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final RequestTimings timings;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeServerTiming();
+        }
+
+        void writeServerTiming() {
+            if (serverTimingHeader && !isDisableOnResponseCommitted()) {
+                disableOnResponseCommitted();
+                setHeader(SERVER_TIMING_HEADER, timings.toServerTiming());
+            }
+        }
+    }
+}
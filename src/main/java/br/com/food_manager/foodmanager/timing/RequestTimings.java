@@ -0,0 +1,112 @@
+package br.com.food_manager.foodmanager.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumulador dos tempos por fase da requisição em andamento, preso à thread que a atende
+ * pelo {@link RequestTimingFilter}. Fora de uma requisição (jobs agendados, inicialização)
+ * não há acumulador e as medições são ignoradas.
+ * <p>
+ * Cada fase acumula a soma das durações e o número de chamadas. Chamadas aninhadas da mesma
+ * fase (um serviço que chama outro) contam só a mais externa; fases diferentes podem se
+ * sobrepor, e o tempo de {@code db} normalmente está contido no de {@code service}.
+ * <p>
+ * Uso, sem alocação por medição:
+ * <pre>{@code
+ * long start = RequestTimings.begin(RequestPhase.DB);
+ * try {
+ *     ...
+ * } finally {
+ *     RequestTimings.end(RequestPhase.DB, start);
+ * }
+ * }</pre>
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final long startNanos;
+    private final long[] elapsedNanos = new long[PHASES.length];
+    private final int[] calls = new int[PHASES.length];
+    private final int[] depth = new int[PHASES.length];
+
+    private RequestTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTimings open() {
+        RequestTimings timings = new RequestTimings(System.nanoTime());
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Inicia a medição de uma fase.
+     *
+     * @return o instante de início, a ser repassado para {@link #end}
+     */
+    public static long begin(RequestPhase phase) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null || timings.depth[phase.ordinal()]++ > 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    public static void end(RequestPhase phase, long startNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return;
+        }
+        int index = phase.ordinal();
+        timings.depth[index]--;
+        if (startNanos != NOT_TIMED) {
+            timings.elapsedNanos[index] += System.nanoTime() - startNanos;
+            timings.calls[index]++;
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Monta o valor do header {@code Server-Timing} com as fases já medidas e o tempo total
+     * até agora, em milissegundos, por exemplo {@code auth;dur=0.4, db;dur=3.1;desc="2", total;dur=5.2}.
+     * A descrição de cada fase é o número de chamadas.
+     */
+    String toServerTiming() {
+        StringBuilder header = new StringBuilder(96);
+        for (RequestPhase phase : PHASES) {
+            int index = phase.ordinal();
+            if (calls[index] > 0) {
+                header.append(phase.metricName()).append(";dur=").append(toMillis(elapsedNanos[index]))
+                        .append(";desc=\"").append(calls[index]).append("\", ");
+            }
+        }
+        return header.append("total;dur=").append(toMillis(elapsedNanos())).toString();
+    }
+
+    List<SlowRequest.Phase> phases() {
+        List<SlowRequest.Phase> phases = new ArrayList<>(PHASES.length);
+        for (RequestPhase phase : PHASES) {
+            int index = phase.ordinal();
+            if (calls[index] > 0) {
+                phases.add(new SlowRequest.Phase(phase.metricName(), toMillis(elapsedNanos[index]), calls[index]));
+            }
+        }
+        return phases;
+    }
+
+    /** Milissegundos com uma casa decimal, formatados sem depender do locale. */
+    static double toMillis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.food_manager.foodmanager.timing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Requisição registrada no {@link SlowRequestJournal}. Durações em milissegundos.
+ */
+public record SlowRequest(
+        Instant timestamp,
+        String method,
+        String path,
+        int status,
+        double durationMs,
+        List<Phase> phases
+) {
+
+    public record Phase(String name, double durationMs, int calls) {}
+}
@@ -0,0 +1,33 @@
+package br.com.food_manager.foodmanager.timing;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Endpoint do Actuator ({@code /actuator/slowrequests}, na porta de gerenciamento) com as
+ * requisições registradas no {@link SlowRequestJournal}. DELETE limpa o diário.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+
+    private final SlowRequestJournal journal;
+
+    public SlowRequestEndpoint(SlowRequestJournal journal) {
+        this.journal = journal;
+    }
+
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return journal.recent();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        journal.clear();
+    }
+}
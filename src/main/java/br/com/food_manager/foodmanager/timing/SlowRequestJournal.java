@@ -0,0 +1,65 @@
+package br.com.food_manager.foodmanager.timing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Diário em memória das últimas requisições lentas, em um buffer circular de tamanho fixo:
+ * quando cheio, cada nova entrada sobrescreve a mais antiga. Gravar custa um incremento
+ * atômico e uma escrita no array, sem locks. Consultado pelo endpoint {@code slowrequests}
+ * do Actuator.
+ */
+@Component
+public class SlowRequestJournal {
+
+    private final AtomicReferenceArray<SlowRequest> entries;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter recorded;
+
+    public SlowRequestJournal(@Value("${app.request-timing.journal-size:200}") int capacity,
+                              MeterRegistry meterRegistry) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("app.request-timing.journal-size deve ser maior que zero");
+        }
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.recorded = Counter.builder("foodmanager.http.slow-requests")
+                .description("Requisições acima do limite do diário de requisições lentas")
+                .register(meterRegistry);
+    }
+
+    public void record(SlowRequest request) {
+        long position = sequence.getAndIncrement();
+        entries.set((int) (position % entries.length()), request);
+        recorded.increment();
+    }
+
+    /**
+     * Devolve as entradas da mais recente para a mais antiga. Gravações concorrentes com a
+     * leitura podem substituir entradas já percorridas, então o resultado é aproximado.
+     */
+    public List<SlowRequest> recent() {
+        long end = sequence.get();
+        long start = Math.max(0, end - entries.length());
+        List<SlowRequest> recent = new ArrayList<>((int) (end - start));
+        for (long position = end - 1; position >= start; position--) {
+            SlowRequest entry = entries.get((int) (position % entries.length()));
+            if (entry != null) {
+                recent.add(entry);
+            }
+        }
+        return recent;
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.food_manager.foodmanager.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON do Spring MVC que mede a serialização das respostas como a fase
+ * {@code json}. Substitui o conversor padrão do Spring Boot, usando o mesmo {@link ObjectMapper}.
+ * <p>
+ * A resposta é enviada pelo flush do próprio Jackson, antes do fim da medição, então a fase
+ * aparece no diário de requisições lentas mas não no header {@code Server-Timing}.
+ */
+@Component
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = RequestTimings.begin(RequestPhase.JSON);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestTimings.end(RequestPhase.JSON, start);
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- Listagem paginada por cursor filtrada por tipo: WHERE user_type = ? AND id > ? ORDER BY id
+CREATE INDEX idx_users_user_type_id ON users (user_type, id);
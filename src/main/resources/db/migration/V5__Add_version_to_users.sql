@@ -0,0 +1,4 @@
+-- Controle de concorrência otimista: cada UPDATE incrementa a versão e só altera a linha
+-- quando a versão esperada pelo cliente ainda é a atual
+ALTER TABLE users
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- Exclusão lógica opcional: a linha é marcada com a data da exclusão e removida depois,
+-- em lotes, pela rotina de expurgo
+ALTER TABLE users
+    ADD COLUMN deleted_at DATETIME NULL;
+
+CREATE INDEX idx_users_deleted_at ON users (deleted_at);
+
+-- A exclusão lógica limpa email e login, liberando as chaves UNIQUE para um novo cadastro antes
+-- do expurgo (vários NULL não violam UNIQUE)
+ALTER TABLE users
+    MODIFY email VARCHAR(255) NULL;
+
+ALTER TABLE users
+    MODIFY login VARCHAR(255) NULL;
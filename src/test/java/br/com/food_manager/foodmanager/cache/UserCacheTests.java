@@ -0,0 +1,126 @@
+package br.com.food_manager.foodmanager.cache;
+
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheTests {
+
+	private final UserCache cache = new UserCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+	private final AtomicInteger reads = new AtomicInteger();
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void servesCachedResponseUntilEvicted() {
+		assertThat(cache.getResponseById(1L, load("Maria Santos"))).map(UserResponse::name).hasValue("Maria Santos");
+		assertThat(cache.getResponseById(1L, load("Maria Santos"))).map(UserResponse::name).hasValue("Maria Santos");
+		assertThat(reads).hasValue(1);
+
+		cache.evict(1L);
+
+		assertThat(cache.getResponseById(1L, load("Maria Oliveira"))).map(UserResponse::name).hasValue("Maria Oliveira");
+		assertThat(reads).hasValue(2);
+	}
+
+	@Test
+	void evictsAgainAfterCommitWhatWasReadDuringTransaction() {
+		cache.getResponseById(1L, load("Maria Santos"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		cache.evict(1L);
+		cache.getResponseById(1L, load("Maria Santos"));
+		TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+		TransactionSynchronizationManager.clearSynchronization();
+
+		assertThat(cache.getResponseById(1L, load("Maria Oliveira"))).map(UserResponse::name).hasValue("Maria Oliveira");
+	}
+
+	@Test
+	void doesNotCacheReadThatOverlapsEviction() {
+		Optional<UserResponse> stale = cache.getResponseById(1L, id -> {
+			Optional<UserResponse> read = load("Maria Santos").apply(id);
+			cache.evict(id);
+			return read;
+		});
+
+		assertThat(stale).map(UserResponse::name).hasValue("Maria Santos");
+		assertThat(cache.getResponseById(1L, load("Maria Oliveira"))).map(UserResponse::name).hasValue("Maria Oliveira");
+	}
+
+	@Test
+	void doesNotCacheMissingUser() {
+		assertThat(cache.getResponseById(1L, id -> {
+			reads.incrementAndGet();
+			return Optional.empty();
+		})).isEmpty();
+
+		assertThat(cache.getResponseById(1L, load("Maria Santos"))).isPresent();
+		assertThat(reads).hasValue(2);
+	}
+
+	@Test
+	void servesUserByLoginAndIdUntilEvicted() {
+		assertThat(cache.getByLogin("maria", login -> user(1L, login, "senha123"))).map(User::getPassword).hasValue("senha123");
+		assertThat(cache.getByLogin("maria", login -> user(1L, login, "outra"))).map(User::getPassword).hasValue("senha123");
+		assertThat(cache.getById(1L, id -> user(id, "maria", "outra"))).map(User::getPassword).hasValue("senha123");
+		assertThat(reads).hasValue(1);
+
+		cache.evict(1L);
+
+		assertThat(cache.getByLogin("maria", login -> user(1L, login, "nova"))).map(User::getPassword).hasValue("nova");
+		assertThat(cache.getById(1L, id -> user(id, "maria", "outra"))).map(User::getPassword).hasValue("nova");
+		assertThat(reads).hasValue(2);
+	}
+
+	@Test
+	void returnsCopiesSoCallersCannotChangeCachedUser() {
+		cache.getById(1L, id -> user(id, "maria", "senha123")).orElseThrow().setPassword("alterada");
+
+		assertThat(cache.getById(1L, id -> user(id, "maria", "outra"))).map(User::getPassword).hasValue("senha123");
+	}
+
+	@Test
+	void oldLoginDoesNotResolveToRenamedUser() {
+		cache.getByLogin("maria", login -> user(1L, login, "senha123"));
+		cache.evict(1L);
+		cache.getById(1L, id -> user(id, "maria.santos", "senha123"));
+
+		assertThat(cache.getByLogin("maria", login -> {
+			reads.incrementAndGet();
+			return Optional.empty();
+		})).isEmpty();
+		assertThat(reads).hasValue(3);
+	}
+
+	private Optional<User> user(Long id, String login, String password) {
+		reads.incrementAndGet();
+		User user = new User("Maria Santos", login + "@email.com", login, password, new Date(), "Av. Paulista, 456");
+		user.setId(id);
+		return Optional.of(user);
+	}
+
+	private Function<Long, Optional<UserResponse>> load(String name) {
+		return id -> {
+			reads.incrementAndGet();
+			return Optional.of(new UserResponse(id, name, "maria@email.com", "maria", new Date(), "Av. Paulista, 456", 0L));
+		};
+	}
+}
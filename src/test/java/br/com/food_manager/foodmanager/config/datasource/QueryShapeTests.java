@@ -0,0 +1,29 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryShapeTests {
+
+	@Test
+	void replacesLiteralsAndCollapsesParameterLists() {
+		QueryShape shape = QueryShape.of("select u1_0.id from users u1_0\n  where u1_0.id in (?, ?, ?) and u1_0.name = 'O''Brien' limit 10");
+
+		assertThat(shape.sql()).isEqualTo("select u1_0.id from users u1_0 where u1_0.id in (?) and u1_0.name = ? limit ?");
+		assertThat(shape.operation()).isEqualTo("select");
+		assertThat(shape.table()).isEqualTo("users");
+	}
+
+	@Test
+	void queriesDifferingOnlyInValuesShareShape() {
+		QueryShape first = QueryShape.of("delete from users where id in (?,?)");
+		QueryShape second = QueryShape.of("delete  from users where id in (?, ?, ?, ?)");
+		QueryShape other = QueryShape.of("update `users` set version = version + 1 where id = 42");
+
+		assertThat(first.id()).isEqualTo(second.id());
+		assertThat(first.table()).isEqualTo("users");
+		assertThat(other.sql()).isEqualTo("update `users` set version = version + ? where id = ?");
+		assertThat(other.table()).isEqualTo("users");
+	}
+}
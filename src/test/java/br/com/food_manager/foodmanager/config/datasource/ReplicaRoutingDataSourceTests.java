@@ -0,0 +1,165 @@
+package br.com.food_manager.foodmanager.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dois bancos H2 em memória fazem o papel de principal e réplica; cada um responde com o
+ * próprio nome, o que mostra para onde cada transação foi roteada.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final AtomicBoolean replicaDown = new AtomicBoolean();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private ReplicaRoutingDataSource router;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@BeforeEach
+	void setUp() {
+		DataSource primary = embeddedDatabase("primary");
+		DataSource replica = new DelegatingDataSource(embeddedDatabase("replica")) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				if (replicaDown.get()) {
+					throw new SQLTransientConnectionException("réplica fora do ar");
+				}
+				return super.getConnection();
+			}
+		};
+
+		ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), clock::get);
+		router = new ReplicaRoutingDataSource(
+				primary, List.of(replica), tracker, Duration.ofSeconds(30), meterRegistry, clock::get);
+		DataSource routing = new LazyConnectionDataSourceProxy(router);
+
+		jdbcTemplate = new JdbcTemplate(routing);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void sendsReadOnlyTransactionsToReplicaAndEverythingElseToPrimary() {
+		assertThat(nodeInReadOnlyTransaction()).isEqualTo("replica");
+		assertThat(nodeInReadWriteTransaction()).isEqualTo("primary");
+		assertThat(node()).isEqualTo("primary");
+	}
+
+	@Test
+	void fallsBackToPrimaryWhileReplicaIsDown() {
+		replicaDown.set(true);
+		assertThat(nodeInReadOnlyTransaction()).isEqualTo("primary");
+		assertThat(meterRegistry.counter("foodmanager.datasource.replica.failures", "replica", "1").count())
+				.isEqualTo(1);
+
+		replicaDown.set(false);
+		assertThat(nodeInReadOnlyTransaction()).isEqualTo("primary");
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+		assertThat(nodeInReadOnlyTransaction()).isEqualTo("replica");
+		assertThat(meterRegistry.counter("foodmanager.datasource.replica.fallbacks").count()).isEqualTo(2);
+	}
+
+	@Test
+	void readsOwnWritesFromPrimaryDuringWindow() {
+		SecurityContextHolder.getContext().setAuthentication(
+				new TestingAuthenticationToken("maria.santos", null, "ROLE_USER"));
+
+		readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+		assertThat(nodeInReadOnlyTransaction()).isEqualTo("primary");
+
+		SecurityContextHolder.getContext().setAuthentication(
+				new TestingAuthenticationToken("joao.silva", null, "ROLE_USER"));
+		assertThat(nodeInReadOnlyTransaction()).isEqualTo("replica");
+
+		SecurityContextHolder.getContext().setAuthentication(
+				new TestingAuthenticationToken("maria.santos", null, "ROLE_USER"));
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+		assertThat(nodeInReadOnlyTransaction()).isEqualTo("replica");
+	}
+
+	@Test
+	void sendsPrimaryReadsToPrimaryEvenInsideReadOnlyTransaction() {
+		String outside = PrimaryReads.call(this::nodeInReadOnlyTransaction);
+		String inside = readOnly.execute(status -> PrimaryReads.call(this::node));
+
+		assertThat(outside).isEqualTo("primary");
+		assertThat(inside).isEqualTo("primary");
+		assertThat(meterRegistry.counter("foodmanager.datasource.replica.primary-reads").count()).isEqualTo(2);
+
+		assertThat(nodeInReadOnlyTransaction()).isEqualTo("replica");
+	}
+
+	@Test
+	void routesConnectionsRequestedWithCredentials() {
+		String replicaNode = readOnly.execute(status -> nodeWithCredentials());
+		String primaryNode = readWrite.execute(status -> nodeWithCredentials());
+
+		assertThat(replicaNode).isEqualTo("replica");
+		assertThat(primaryNode).isEqualTo("primary");
+		assertThat(nodeWithCredentials()).isEqualTo("primary");
+	}
+
+	private String nodeInReadOnlyTransaction() {
+		return readOnly.execute(status -> node());
+	}
+
+	private String nodeInReadWriteTransaction() {
+		return readWrite.execute(status -> node());
+	}
+
+	private String node() {
+		return jdbcTemplate.queryForObject("select name from node", String.class);
+	}
+
+	private String nodeWithCredentials() {
+		try (Connection connection = router.getConnection("sa", "")) {
+			return new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+					.queryForObject("select name from node", String.class);
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static DataSource embeddedDatabase(String name) {
+		DataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create table node (name varchar(20))");
+		jdbc.update("insert into node (name) values (?)", name);
+		return dataSource;
+	}
+}
@@ -0,0 +1,350 @@
+package br.com.food_manager.foodmanager.controller;
+
+import br.com.food_manager.foodmanager.model.dto.JwtResponse;
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Orçamento de comandos SQL por endpoint, contados pelas estatísticas do Hibernate. Cada teste
+ * cria os próprios usuários, de modo que o estado dos caches é o mesmo em qualquer ordem de
+ * execução. Um endpoint que passe a executar mais (ou menos) comandos falha o build: ajuste o
+ * orçamento apenas quando a mudança for intencional.
+ * <p>
+ * A primeira requisição autenticada de cada usuário lê a versão do token no banco
+ * ({@link #TOKEN_VERSION_LOOKUP}); as seguintes usam o valor em memória. Comandos emitidos pelo
+ * {@code JdbcTemplate} (inserção em lote da importação) não passam pelo Hibernate e não entram
+ * na conta.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:querybudget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"app.scheduling.enabled=false",
+		"app.security.login-rate-limit.per-ip-capacity=10000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTests {
+
+	private static final int TOKEN_VERSION_LOOKUP = 1;
+	private static final String PASSWORD = "senha123";
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void register() throws Exception {
+		String login = nextLogin();
+
+		MvcResult result = perform("POST /api/auth/register", 1, post("/api/auth/register")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(newUser(login))));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(201);
+	}
+
+	@Test
+	void login() throws Exception {
+		String login = register(nextLogin()).login();
+
+		MvcResult result = perform("POST /api/auth/login", 2, loginRequest(login));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void refresh() throws Exception {
+		Session session = login(register(nextLogin()).login());
+
+		// O usuário lido no login fica no cache: só o token é consultado, revogado e emitido
+		MvcResult result = perform("POST /api/auth/refresh", 3, post("/api/auth/refresh")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("refreshToken", session.tokens().refreshToken()))));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void logout() throws Exception {
+		Session session = login(register(nextLogin()).login());
+
+		MvcResult result = perform("POST /api/auth/logout", TOKEN_VERSION_LOOKUP + 2, session.authorize(post("/api/auth/logout"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("refreshToken", session.tokens().refreshToken()))));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(204);
+	}
+
+	@Test
+	void findAll() throws Exception {
+		Session session = login(register(nextLogin()).login());
+
+		// O resumo da página (ETag) e a página
+		MvcResult result = perform("GET /api/user", TOKEN_VERSION_LOOKUP + 2, session.authorize(get("/api/user").param("size", "20")));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void findAllNotModified() throws Exception {
+		UserResponse user = register(nextLogin());
+		Session session = login(user.login());
+		String afterId = String.valueOf(user.id() - 1);
+		String eTag = mockMvc.perform(session.authorize(get("/api/user").param("afterId", afterId)))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// Apenas o resumo da página: a página não é lida
+		MvcResult result = perform("GET /api/user (304)", 1, session.authorize(get("/api/user").param("afterId", afterId))
+				.header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(304);
+		assertThat(result.getResponse().getContentAsString()).isEmpty();
+
+		mockMvc.perform(session.authorize(patch("/api/user/{id}", user.id()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("name", "Nome Alterado", "version", user.version()))));
+		MvcResult changed = mockMvc.perform(session.authorize(get("/api/user").param("afterId", afterId))
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn();
+
+		assertThat(changed.getResponse().getStatus()).isEqualTo(200);
+		assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+	}
+
+	@Test
+	void search() throws Exception {
+		Session session = login(register(nextLogin()).login());
+		mockMvc.perform(session.authorize(get("/api/user/search").param("q", "santos")));
+
+		// O índice de n-gramas já foi construído na busca anterior e nenhuma escrita foi avisada depois
+		MvcResult result = perform("GET /api/user/search", 0, session.authorize(get("/api/user/search").param("q", "silva")));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void export() throws Exception {
+		Session session = login(register(nextLogin()).login());
+
+		MvcResult result = perform("GET /api/user/export", TOKEN_VERSION_LOOKUP + 1, session.authorize(get("/api/user/export")));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+		assertThat(result.getResponse().getContentAsString()).startsWith("{").endsWith("}\n").doesNotContain("}{", "}\n\n");
+	}
+
+	@Test
+	void getUser() throws Exception {
+		UserResponse user = register(nextLogin());
+		Session session = login(user.login());
+
+		MvcResult result = perform("GET /api/user/{id}", TOKEN_VERSION_LOOKUP + 1, session.authorize(get("/api/user/{id}", user.id())));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void getUserNotModified() throws Exception {
+		UserResponse user = register(nextLogin());
+		Session session = login(user.login());
+		String eTag = mockMvc.perform(session.authorize(get("/api/user/{id}", user.id())))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		MvcResult result = perform("GET /api/user/{id} (304)", 0, session.authorize(get("/api/user/{id}", user.id()))
+				.header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(304);
+		assertThat(result.getResponse().getContentAsString()).isEmpty();
+
+		mockMvc.perform(session.authorize(patch("/api/user/{id}", user.id()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("name", "Nome Alterado", "version", user.version()))));
+		MvcResult changed = mockMvc.perform(session.authorize(get("/api/user/{id}", user.id()))
+				.header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn();
+
+		assertThat(changed.getResponse().getStatus()).isEqualTo(200);
+		assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+	}
+
+	@Test
+	void createUser() throws Exception {
+		Session session = login(register(nextLogin()).login());
+
+		MvcResult result = perform("POST /api/user", TOKEN_VERSION_LOOKUP + 1, session.authorize(post("/api/user"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(newUser(nextLogin()))));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(201);
+	}
+
+	@Test
+	void importUsers() throws Exception {
+		Session session = login(register(nextLogin()).login());
+		String csv = "name,email,login,password,address\n"
+				+ csvLine(nextLogin()) + csvLine(nextLogin()) + csvLine(nextLogin());
+
+		MvcResult result = perform("POST /api/user/import", TOKEN_VERSION_LOOKUP + 2, session.authorize(post("/api/user/import"))
+				.contentType("text/csv")
+				.content(csv));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void updateUser() throws Exception {
+		UserResponse user = register(nextLogin());
+		Session session = login(user.login());
+
+		MvcResult result = perform("PATCH /api/user/{id}", TOKEN_VERSION_LOOKUP + 2, session.authorize(patch("/api/user/{id}", user.id()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("name", "Nome Alterado", "login", nextLogin(), "version", user.version()))));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void updateUserWithIfMatch() throws Exception {
+		UserResponse user = register(nextLogin());
+		Session session = login(user.login());
+
+		MvcResult result = perform("PATCH /api/user/{id} com If-Match", TOKEN_VERSION_LOOKUP + 2, session.authorize(patch("/api/user/{id}", user.id()))
+				.header(HttpHeaders.IF_MATCH, "\"" + user.version() + "\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("name", "Nome Alterado"))));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void updateUserWithoutVersion() throws Exception {
+		UserResponse user = register(nextLogin());
+		Session session = login(user.login());
+
+		MvcResult result = perform("PATCH /api/user/{id} sem versão", TOKEN_VERSION_LOOKUP, session.authorize(patch("/api/user/{id}", user.id()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("name", "Nome Alterado"))));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(428);
+	}
+
+	@Test
+	void changePassword() throws Exception {
+		UserResponse user = register(nextLogin());
+		Session session = login(user.login());
+
+		MvcResult result = perform("PUT /api/user/{id}/password", TOKEN_VERSION_LOOKUP + 3, session.authorize(put("/api/user/{id}/password", user.id()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("currentPassword", PASSWORD, "newPassword", "novaSenha456"))));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(204);
+	}
+
+	@Test
+	void deleteUser() throws Exception {
+		Session session = login(register(nextLogin()).login());
+		UserResponse target = register(nextLogin());
+
+		MvcResult result = perform("DELETE /api/user/{id}", TOKEN_VERSION_LOOKUP + 1, session.authorize(delete("/api/user/{id}", target.id())));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(204);
+	}
+
+	@Test
+	void bulkDelete() throws Exception {
+		Session session = login(register(nextLogin()).login());
+		Long first = register(nextLogin()).id();
+		Long second = register(nextLogin()).id();
+
+		MvcResult result = perform("POST /api/user/bulk-delete", TOKEN_VERSION_LOOKUP + 2, session.authorize(post("/api/user/bulk-delete"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("ids", new Long[] {first, second, -1L}))));
+
+		assertThat(result.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	private MvcResult perform(String endpoint, int budget, MockHttpServletRequestBuilder request) throws Exception {
+		statistics.clear();
+		MvcResult result = mockMvc.perform(request).andReturn();
+		assertThat(statistics.getPrepareStatementCount())
+				.as("comandos SQL em %s", endpoint)
+				.isEqualTo(budget);
+		return result;
+	}
+
+	private UserResponse register(String login) throws Exception {
+		MvcResult result = mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(json(newUser(login))))
+				.andReturn();
+		return objectMapper.readValue(result.getResponse().getContentAsString(), UserResponse.class);
+	}
+
+	private Session login(String login) throws Exception {
+		MvcResult result = mockMvc.perform(loginRequest(login)).andReturn();
+		return new Session(objectMapper.readValue(result.getResponse().getContentAsString(), JwtResponse.class));
+	}
+
+	private MockHttpServletRequestBuilder loginRequest(String login) throws Exception {
+		return post("/api/auth/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(json(Map.of("login", login, "password", PASSWORD)));
+	}
+
+	private String json(Object value) throws Exception {
+		return objectMapper.writeValueAsString(value);
+	}
+
+	private static String nextLogin() {
+		return "budget" + SEQUENCE.incrementAndGet();
+	}
+
+	private static Map<String, String> newUser(String login) {
+		return Map.of("name", "Usuário " + login, "email", login + "@email.com", "login", login,
+				"password", PASSWORD, "address", "Rua das Flores, 123");
+	}
+
+	private static String csvLine(String login) {
+		return "Usuário " + login + "," + login + "@email.com," + login + "," + PASSWORD + ",Rua das Flores\n";
+	}
+
+	private record Session(JwtResponse tokens) {
+
+		MockHttpServletRequestBuilder authorize(MockHttpServletRequestBuilder request) {
+			return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.token());
+		}
+	}
+}
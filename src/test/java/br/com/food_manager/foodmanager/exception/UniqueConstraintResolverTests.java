@@ -0,0 +1,50 @@
+package br.com.food_manager.foodmanager.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UniqueConstraintResolverTests {
+
+	@Test
+	void resolvesMySqlKeyNameFromHibernate() {
+		SQLIntegrityConstraintViolationException sql = new SQLIntegrityConstraintViolationException(
+				"Duplicate entry 'ana@email.com' for key 'users.email'", "23000", 1062);
+		DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("could not execute statement", sql, "users.email"));
+
+		assertThat(UniqueConstraintResolver.violatedField(ex)).contains("email");
+	}
+
+	@Test
+	void ignoresDuplicatedValueThatLooksLikeAColumn() {
+		SQLIntegrityConstraintViolationException sql = new SQLIntegrityConstraintViolationException(
+				"Duplicate entry 'email.admin' for key 'users.login'", "23000", 1062);
+
+		assertThat(UniqueConstraintResolver.violatedField(new DataIntegrityViolationException("dup", sql)))
+				.contains("login");
+	}
+
+	@Test
+	void fallsBackToDriverMessageWhenConstraintNameIsGenerated() {
+		SQLIntegrityConstraintViolationException sql = new SQLIntegrityConstraintViolationException(
+				"Unique index or primary key violation: \"public.CONSTRAINT_6A_INDEX_8 ON public.users(login NULLS FIRST) "
+						+ "VALUES ( /* 11 */ 'email' )\"", "23505", 23505);
+		DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("could not execute statement", sql, "public.CONSTRAINT_6A_INDEX_8"));
+
+		assertThat(UniqueConstraintResolver.violatedField(ex)).contains("login");
+	}
+
+	@Test
+	void returnsEmptyForOtherViolations() {
+		SQLIntegrityConstraintViolationException sql = new SQLIntegrityConstraintViolationException(
+				"Column 'name' cannot be null", "23000", 1048);
+
+		assertThat(UniqueConstraintResolver.violatedField(new DataIntegrityViolationException("null", sql))).isEmpty();
+	}
+}
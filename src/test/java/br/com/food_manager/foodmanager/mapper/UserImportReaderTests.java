@@ -0,0 +1,78 @@
+package br.com.food_manager.foodmanager.mapper;
+
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.service.UserImportService.Row;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserImportReaderTests {
+
+	@Test
+	void readsCsvWithQuotedFieldsInAnyColumnOrder() throws IOException {
+		String csv = """
+				login,name,email,password,address,userType
+				"ana","Costa, Ana",ana@email.com,senha123,"Rua ""A"", 1",owner
+
+				bia,Bia,bia@email.com,senha123,,
+				""";
+
+		List<Row> rows = readAll(UserImportReader.fromCsv(stream(csv)));
+
+		assertThat(rows).hasSize(2);
+		assertThat(rows.get(0).number()).isEqualTo(2);
+		assertThat(rows.get(0).request().name()).isEqualTo("Costa, Ana");
+		assertThat(rows.get(0).request().address()).isEqualTo("Rua \"A\", 1");
+		assertThat(rows.get(0).request().userType()).isEqualTo(UserType.OWNER);
+		assertThat(rows.get(1).number()).isEqualTo(4);
+		assertThat(rows.get(1).request().address()).isNull();
+		assertThat(rows.get(1).request().userType()).isNull();
+	}
+
+	@Test
+	void rejectsOnlyTheInvalidCsvRow() throws IOException {
+		String csv = """
+				name,email,login,password,userType
+				Ana,ana@email.com,ana,senha123,ADMIN
+				Bia,bia@email.com,bia,senha123,CUSTOMER
+				""";
+
+		List<Row> rows = readAll(UserImportReader.fromCsv(stream(csv)));
+
+		assertThat(rows.get(0).parseError()).contains("ADMIN");
+		assertThat(rows.get(1).parseError()).isNull();
+	}
+
+	@Test
+	void stopsJsonImportAtMalformedInputKeepingEarlierRows() throws IOException {
+		String json = """
+				[{"name":"Ana","email":"ana@email.com","login":"ana","password":"senha123","userType":"NOPE"},
+				 {"name":"Bia","email":"bia@email.com","login":"bia","password":"senha123"},
+				 {"name":""";
+
+		List<Row> rows = readAll(UserImportReader.fromJson(new ObjectMapper(), stream(json)));
+
+		assertThat(rows).hasSize(3);
+		assertThat(rows.get(0).parseError()).contains("userType");
+		assertThat(rows.get(1).request().login()).isEqualTo("bia");
+		assertThat(rows.get(2).parseError()).contains("malformado");
+	}
+
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<Row> readAll(Iterator<Row> iterator) {
+		List<Row> rows = new ArrayList<>();
+		iterator.forEachRemaining(rows::add);
+		return rows;
+	}
+}
@@ -0,0 +1,84 @@
+package br.com.food_manager.foodmanager.search;
+
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import br.com.food_manager.foodmanager.model.dto.UserSearchHit;
+import br.com.food_manager.foodmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NgramUserSearchIndexTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final List<UserResponse> users = new ArrayList<>();
+	private NgramUserSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		users.add(user(1, "João Silva", "joao.silva@email.com", "Rua das Flores, 123 - São Paulo, SP"));
+		users.add(user(2, "Maria Santos", "maria.santos@email.com", "Av. Paulista, 456 - São Paulo, SP"));
+		users.add(user(3, "Silvana Costa", "s.costa@email.com", "Rua Central, 147 - Salvador, BA"));
+		when(userRepository.findResponsePage(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+			long afterId = invocation.getArgument(0);
+			return users.stream().filter(user -> user.id() > afterId).toList();
+		});
+		index = new NgramUserSearchIndex(userRepository);
+	}
+
+	@Test
+	void ranksByMatchedFieldsAndIgnoresAccents() {
+		List<UserSearchHit> hits = index.search(SearchTerms.parse("SILVA"), 0, 10);
+
+		assertThat(hits).extracting(hit -> hit.user().id()).containsExactly(1L, 3L);
+		assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+		assertThat(index.search(SearchTerms.parse("joão"), 0, 10))
+				.extracting(hit -> hit.user().id()).containsExactly(1L);
+	}
+
+	@Test
+	void requiresEveryTermAndPaginates() {
+		assertThat(index.search(SearchTerms.parse("sao paulo"), 0, 10))
+				.extracting(hit -> hit.user().id()).containsExactly(1L, 2L);
+		assertThat(index.search(SearchTerms.parse("paulista santos"), 0, 10))
+				.extracting(hit -> hit.user().id()).containsExactly(2L);
+		assertThat(index.search(SearchTerms.parse("paulista silva"), 0, 10)).isEmpty();
+		assertThat(index.search(SearchTerms.parse("sao paulo"), 1, 10))
+				.extracting(hit -> hit.user().id()).containsExactly(2L);
+	}
+
+	@Test
+	void matchesOnlyAtWordStartLikeFullText() {
+		assertThat(index.search(SearchTerms.parse("silv"), 0, 10))
+				.extracting(hit -> hit.user().id()).containsExactly(1L, 3L);
+		assertThat(index.search(SearchTerms.parse("ilva"), 0, 10)).isEmpty();
+		assertThat(index.search(SearchTerms.parse("aulista"), 0, 10)).isEmpty();
+	}
+
+	@Test
+	void rebuildsOnlyAfterUsersChange() {
+		index.search(SearchTerms.parse("santos"), 0, 10);
+		index.search(SearchTerms.parse("costa"), 0, 10);
+		verify(userRepository, times(1)).findResponsePage(anyLong(), any(Limit.class));
+
+		users.add(user(4, "Pedro Santos", "pedro@email.com", "Rua do Comércio, 789"));
+		index.usersChanged();
+		assertThat(index.search(SearchTerms.parse("santos"), 0, 10))
+				.extracting(hit -> hit.user().id()).containsExactly(2L, 4L);
+	}
+
+	private static UserResponse user(long id, String name, String email, String address) {
+		return new UserResponse(id, name, email, name.toLowerCase(), new Date(0), address, 0L);
+	}
+}
@@ -0,0 +1,131 @@
+package br.com.food_manager.foodmanager.security;
+
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTests {
+
+	private static final String SECRET = "mySecretKeyThatIsAtLeast32CharactersLongForHS256";
+
+	private static final long NOW = 1_700_000_000_000L;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void verifiesValidTokenOnceAndThenServesItFromCache() {
+		JwtUtils jwtUtils = newJwtUtils(900_000);
+		String token = jwtUtils.generateToken(user());
+
+		JwtValidation first = jwtUtils.validate(token);
+		JwtValidation second = jwtUtils.validate(token);
+
+		assertThat(first.isValid()).isTrue();
+		assertThat(first.principal().id()).isEqualTo(2L);
+		assertThat(second.principal()).isEqualTo(first.principal());
+		assertThat(validations("verified")).isEqualTo(1);
+		assertThat(validations("cached")).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsExpiredTokenAsExpired() {
+		String token = newJwtUtils(-60_000).generateToken(user());
+
+		JwtValidation validation = newJwtUtils(900_000).validate(token);
+
+		assertThat(validation.isValid()).isFalse();
+		assertThat(validation.failure()).isEqualTo(AuthFailureReason.EXPIRED);
+		assertThat(validations("expired")).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsTokenWithTamperedSignatureAsInvalid() {
+		String token = newJwtUtils(900_000).generateToken(user());
+		int middle = token.lastIndexOf('.') + 10;
+		char replacement = token.charAt(middle) == 'A' ? 'B' : 'A';
+		String tampered = token.substring(0, middle) + replacement + token.substring(middle + 1);
+
+		assertThat(newJwtUtils(900_000).validate(tampered).failure()).isEqualTo(AuthFailureReason.INVALID);
+	}
+
+	@Test
+	void rejectsSignedTokenWithUnknownRoleOrWrongClaimTypeAsInvalidClaims() {
+		String unknownRole = Jwts.builder()
+				.id("1").subject("maria.santos").claim("uid", 2L).claim("role", "ROOT").claim("ver", 0)
+				.expiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+				.compact();
+		String textualId = Jwts.builder()
+				.id("2").subject("maria.santos").claim("uid", "dois").claim("role", "CUSTOMER").claim("ver", 0)
+				.expiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+				.compact();
+
+		JwtUtils jwtUtils = newJwtUtils(900_000);
+
+		assertThat(jwtUtils.validate(unknownRole).failure()).isEqualTo(AuthFailureReason.INVALID_CLAIMS);
+		assertThat(jwtUtils.validate(textualId).failure()).isEqualTo(AuthFailureReason.INVALID_CLAIMS);
+		assertThat(validations("invalid-claims")).isEqualTo(2);
+	}
+
+	@Test
+	void precheckRejectsMalformedStructureWithoutParsing() {
+		assertThat(JwtUtils.precheck("not-a-jwt", NOW)).isEqualTo(AuthFailureReason.MALFORMED);
+		assertThat(JwtUtils.precheck(".payload.signature", NOW)).isEqualTo(AuthFailureReason.MALFORMED);
+		assertThat(JwtUtils.precheck("header..signature", NOW)).isEqualTo(AuthFailureReason.MALFORMED);
+		assertThat(JwtUtils.precheck("a.b.c.d.e", NOW)).isEqualTo(AuthFailureReason.MALFORMED);
+		assertThat(JwtUtils.precheck("head$er.payload.signature", NOW)).isEqualTo(AuthFailureReason.MALFORMED);
+		assertThat(JwtUtils.precheck("header.abcde.signature", NOW)).isEqualTo(AuthFailureReason.MALFORMED);
+	}
+
+	@Test
+	void precheckOnlyReadsExpirationFromTopLevelKeys() {
+		long past = NOW / 1000 - 60;
+		long future = NOW / 1000 + 60;
+
+		assertThat(JwtUtils.precheck(token("{\"sub\":\"ana\",\"exp\":" + past + "}"), NOW))
+				.isEqualTo(AuthFailureReason.EXPIRED);
+		assertThat(JwtUtils.precheck(token("{ \"exp\" : " + past + " }"), NOW))
+				.isEqualTo(AuthFailureReason.EXPIRED);
+		assertThat(JwtUtils.precheck(token("{\"exp\":" + future + "}"), NOW)).isNull();
+		assertThat(JwtUtils.precheck(token("{\"sub\":\"a,\\\"exp\\\":" + past + "\",\"exp\":" + future + "}"), NOW))
+				.isNull();
+		assertThat(JwtUtils.precheck(token("{\"sub\":\"exp\"}"), NOW)).isNull();
+	}
+
+	private long validations(String outcome) {
+		return meterRegistry.get("foodmanager.auth.token.validation").tag("outcome", outcome).timer().count();
+	}
+
+	private JwtUtils newJwtUtils(int expirationMs) {
+		JwtUtils jwtUtils = new JwtUtils(meterRegistry);
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", expirationMs);
+		ReflectionTestUtils.setField(jwtUtils, "verifiedCacheMaximumSize", 100L);
+		jwtUtils.init();
+		return jwtUtils;
+	}
+
+	private static User user() {
+		User user = new User("Maria Santos", "maria.santos@email.com", "maria.santos", "hash", null, "Av. Paulista, 456");
+		user.setId(2L);
+		user.setUserType(UserType.CUSTOMER);
+		return user;
+	}
+
+	private static String token(String payloadJson) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+				+ encoder.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8)) + ".c2lnbmF0dXJl";
+	}
+}
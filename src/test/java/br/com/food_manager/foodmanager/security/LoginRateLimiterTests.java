@@ -0,0 +1,80 @@
+package br.com.food_manager.foodmanager.security;
+
+import br.com.food_manager.foodmanager.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTests {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private LoginRateLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		LoginRateLimitProperties properties = new LoginRateLimitProperties(
+				3, Duration.ofSeconds(10), 5, Duration.ofSeconds(1), 1000, Duration.ofMinutes(15));
+		limiter = new LoginRateLimiter(properties, meterRegistry, clock::get);
+	}
+
+	@Test
+	void rejectsLoginAfterBurstAndRecoversOverTime() {
+		for (int i = 0; i < 3; i++) {
+			limiter.checkAttempt("10.0.0." + i, "maria.santos");
+		}
+
+		assertThatThrownBy(() -> limiter.checkAttempt("10.0.0.9", "Maria.Santos"))
+				.isInstanceOf(TooManyLoginAttemptsException.class)
+				.extracting(e -> ((TooManyLoginAttemptsException) e).getRetryAfterSeconds())
+				.isEqualTo(10L);
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		assertThatCode(() -> limiter.checkAttempt("10.0.0.9", "maria.santos")).doesNotThrowAnyException();
+		assertThat(meterRegistry.get("foodmanager.auth.login.throttled").tag("key", "login").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	@Test
+	void rejectsIpTryingManyLoginsWithoutTouchingLoginBuckets() {
+		for (int i = 0; i < 5; i++) {
+			limiter.checkAttempt("10.0.0.1", "user" + i);
+		}
+
+		assertThatThrownBy(() -> limiter.checkAttempt("10.0.0.1", "another.user"))
+				.isInstanceOf(TooManyLoginAttemptsException.class);
+		assertThatCode(() -> limiter.checkAttempt("10.0.0.2", "another.user")).doesNotThrowAnyException();
+		assertThat(meterRegistry.get("foodmanager.auth.login.throttled").tag("key", "ip").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	@Test
+	void tokenBucketAllowsOnlyCapacityUnderConcurrency() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(100, TimeUnit.HOURS.toNanos(1), clock::get);
+		AtomicLong accepted = new AtomicLong();
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 1000; i++) {
+					if (bucket.tryConsume() == 0) {
+						accepted.incrementAndGet();
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(accepted.get()).isEqualTo(100);
+	}
+}
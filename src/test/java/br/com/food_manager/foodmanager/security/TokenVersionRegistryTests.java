@@ -0,0 +1,95 @@
+package br.com.food_manager.foodmanager.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Um mapa faz o papel da coluna {@code token_version}, compartilhada por duas instâncias da
+ * aplicação; fora de transação as alterações locais valem imediatamente.
+ */
+class TokenVersionRegistryTests {
+
+	private static final Duration TTL = Duration.ofSeconds(30);
+
+	private final AtomicLong clock = new AtomicLong();
+	private final Map<Long, Integer> database = new ConcurrentHashMap<>(Map.of(1L, 0, 2L, 0));
+	private final AtomicInteger reads = new AtomicInteger();
+
+	@Test
+	void readsVersionOnceAndAppliesLocalBumps() {
+		TokenVersionRegistry registry = newInstance(this::read);
+
+		assertThat(registry.isCurrent(1L, 0)).isTrue();
+		assertThat(registry.isCurrent(1L, 0)).isTrue();
+
+		database.put(1L, 1);
+		registry.update(1L, 1);
+
+		assertThat(registry.isCurrent(1L, 0)).isFalse();
+		assertThat(registry.isCurrent(1L, 1)).isTrue();
+		assertThat(reads).hasValue(1);
+	}
+
+	@Test
+	void rejectsEveryVersionOfRevokedOrMissingUser() {
+		TokenVersionRegistry registry = newInstance(this::read);
+
+		database.remove(2L);
+		registry.revoke(2L);
+
+		assertThat(registry.isCurrent(2L, 0)).isFalse();
+		assertThat(registry.isCurrent(3L, 0)).isFalse();
+	}
+
+	@Test
+	void seesChangesFromAnotherInstanceAfterTtl() {
+		TokenVersionRegistry local = newInstance(this::read);
+		TokenVersionRegistry other = newInstance(this::read);
+		assertThat(other.isCurrent(1L, 0)).isTrue();
+		assertThat(other.isCurrent(2L, 0)).isTrue();
+
+		database.put(1L, 1);
+		local.update(1L, 1);
+		database.remove(2L);
+		local.revoke(2L);
+		assertThat(other.isCurrent(1L, 0)).isTrue();
+
+		clock.addAndGet(TTL.toNanos());
+		assertThat(other.isCurrent(1L, 0)).isFalse();
+		assertThat(other.isCurrent(1L, 1)).isTrue();
+		assertThat(other.isCurrent(2L, 0)).isFalse();
+	}
+
+	@Test
+	void readStartedBeforeLocalBumpDoesNotOverwriteIt() {
+		AtomicReference<TokenVersionRegistry> registry = new AtomicReference<>();
+		registry.set(newInstance(id -> {
+			Optional<Integer> stale = read(id);
+			database.put(id, 1);
+			registry.get().update(id, 1);
+			return stale;
+		}));
+
+		assertThat(registry.get().isCurrent(1L, 0)).isFalse();
+		assertThat(registry.get().isCurrent(1L, 1)).isTrue();
+	}
+
+	private Optional<Integer> read(Long id) {
+		reads.incrementAndGet();
+		return Optional.ofNullable(database.get(id));
+	}
+
+	private TokenVersionRegistry newInstance(Function<Long, Optional<Integer>> loader) {
+		return new TokenVersionRegistry(loader, 1000, TTL, clock::get);
+	}
+}
@@ -0,0 +1,83 @@
+package br.com.food_manager.foodmanager.service.Impl;
+
+import br.com.food_manager.foodmanager.exception.InvalidRefreshTokenException;
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.repository.RefreshTokenRepository;
+import br.com.food_manager.foodmanager.repository.UserRepository;
+import br.com.food_manager.foodmanager.service.RefreshTokenService;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:refreshtokens;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"app.scheduling.enabled=false"
+})
+@ActiveProfiles("test")
+class RefreshTokenServiceImplTests {
+
+	@Autowired
+	private RefreshTokenService refreshTokenService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@MockitoSpyBean
+	private RefreshTokenRepository refreshTokenRepository;
+
+	/**
+	 * As duas chamadas só seguem para a revogação depois que ambas leram o token ainda ativo,
+	 * a situação em que verificar e marcar na entidade deixaria as duas vencerem.
+	 */
+	@Test
+	void onlyOneOfTwoConcurrentRefreshesSucceeds() throws Exception {
+		User user = userRepository.save(new User("Maria Santos", "maria.refresh@email.com", "maria.refresh",
+				"senha123", new Date(), "Av. Paulista, 456"));
+		String rawToken = refreshTokenService.issue(user);
+		String otherSession = refreshTokenService.issue(user);
+
+		// O repositório é um proxy de interface: o espião delega ao bean real pela resposta padrão
+		Answer<?> realRepository = mockingDetails(refreshTokenRepository).getMockCreationSettings().getDefaultAnswer();
+		CyclicBarrier bothRead = new CyclicBarrier(2);
+		doAnswer(invocation -> {
+			bothRead.await(5, TimeUnit.SECONDS);
+			return realRepository.answer(invocation);
+		}).when(refreshTokenRepository).revokeIfActive(anyString());
+
+		List<Object> outcomes;
+		try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+			List<CompletableFuture<Object>> refreshes = List.of(
+					CompletableFuture.supplyAsync(() -> consume(rawToken), executor),
+					CompletableFuture.supplyAsync(() -> consume(rawToken), executor));
+			outcomes = refreshes.stream().map(CompletableFuture::join).toList();
+		}
+
+		assertThat(outcomes).filteredOn(User.class::isInstance).hasSize(1);
+		assertThat(outcomes).filteredOn(InvalidRefreshTokenException.class::isInstance).hasSize(1);
+		assertThat(consume(otherSession)).isInstanceOf(InvalidRefreshTokenException.class);
+	}
+
+	private Object consume(String rawToken) {
+		try {
+			return refreshTokenService.consume(rawToken);
+		} catch (InvalidRefreshTokenException e) {
+			return e;
+		}
+	}
+}
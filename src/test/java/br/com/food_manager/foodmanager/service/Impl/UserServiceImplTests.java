@@ -0,0 +1,179 @@
+package br.com.food_manager.foodmanager.service.Impl;
+
+import br.com.food_manager.foodmanager.exception.UserAlreadyExistsException;
+import br.com.food_manager.foodmanager.exception.UserNotFoundException;
+import br.com.food_manager.foodmanager.exception.UserVersionConflictException;
+import br.com.food_manager.foodmanager.exception.UserVersionRequiredException;
+import br.com.food_manager.foodmanager.model.User;
+import br.com.food_manager.foodmanager.model.UserType;
+import br.com.food_manager.foodmanager.model.dto.UserPageStamp;
+import br.com.food_manager.foodmanager.model.dto.UserResponse;
+import br.com.food_manager.foodmanager.repository.UserRepository;
+import br.com.food_manager.foodmanager.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:userservice;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"app.scheduling.enabled=false",
+		"app.user-deletion.soft-delete=true"
+})
+@ActiveProfiles("test")
+class UserServiceImplTests {
+
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Todos os usuários saem de uma única consulta, e a sessão guarda no máximo o usuário que
+	 * está sendo entregue: o anterior já foi desanexado quando o próximo chega.
+	 */
+	@Test
+	void forEachUserStreamsUsersAndDetachesEachOne() {
+		List<Long> ids = List.of(newUser().getId(), newUser().getId(), newUser().getId());
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<User> exported = new ArrayList<>();
+		List<Integer> managedEntities = new ArrayList<>();
+		long count = userService.forEachUser(user -> {
+			assertThat(entityManager.contains(user)).isTrue();
+			exported.forEach(previous -> assertThat(entityManager.contains(previous)).isFalse());
+			managedEntities.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+			exported.add(user);
+		});
+
+		assertThat(count).isEqualTo(exported.size());
+		assertThat(exported).extracting(User::getId).containsAll(ids).isSorted();
+		assertThat(managedEntities).containsOnly(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void updateWritesOnlyFilledFieldsAndIncrementsVersion() {
+		User user = newUser();
+		User changes = new User();
+		changes.setName("Maria Oliveira");
+		changes.setAddress("");
+
+		UserResponse response = userService.update(user.getId(), changes, user.getVersion());
+
+		User stored = userRepository.findById(user.getId()).orElseThrow();
+		assertThat(stored.getName()).isEqualTo("Maria Oliveira");
+		assertThat(stored.getEmail()).isEqualTo(user.getEmail());
+		assertThat(stored.getLogin()).isEqualTo(user.getLogin());
+		assertThat(stored.getAddress()).isEqualTo(user.getAddress());
+		assertThat(stored.getPassword()).isEqualTo(user.getPassword());
+		assertThat(stored.getVersion()).isEqualTo(user.getVersion() + 1);
+		assertThat(response.version()).isEqualTo(stored.getVersion());
+	}
+
+	@Test
+	void updateWithStaleVersionIsRejectedWithoutWriting() {
+		User user = newUser();
+		User first = new User();
+		first.setName("Maria Oliveira");
+		userService.update(user.getId(), first, user.getVersion());
+
+		User second = new User();
+		second.setName("Maria Souza");
+		assertThatThrownBy(() -> userService.update(user.getId(), second, user.getVersion()))
+				.isInstanceOf(UserVersionConflictException.class);
+
+		User stored = userRepository.findById(user.getId()).orElseThrow();
+		assertThat(stored.getName()).isEqualTo("Maria Oliveira");
+		assertThat(stored.getVersion()).isEqualTo(user.getVersion() + 1);
+	}
+
+	@Test
+	void updateOfMissingUserIsNotFound() {
+		User changes = new User();
+		changes.setName("Maria Oliveira");
+
+		assertThatThrownBy(() -> userService.update(-1L, changes, 0L))
+				.isInstanceOf(UserNotFoundException.class);
+	}
+
+	@Test
+	void updateWithoutVersionIsRejectedWithoutWriting() {
+		User user = newUser();
+		User changes = new User();
+		changes.setName("Maria Oliveira");
+
+		assertThatThrownBy(() -> userService.update(user.getId(), changes, null))
+				.isInstanceOf(UserVersionRequiredException.class);
+		assertThat(userRepository.findById(user.getId())).map(User::getName).hasValue("Maria Santos");
+	}
+
+	@Test
+	void softDeletedUserFreesEmailAndLogin() {
+		User user = newUser();
+		userService.deleteById(user.getId());
+
+		User again = userService.save(new User("Maria Santos", user.getEmail(), user.getLogin(),
+				"senha123", new Date(), "Av. Paulista, 456"));
+
+		assertThat(again.getId()).isNotEqualTo(user.getId());
+		assertThat(userService.findByLogin(user.getLogin()).getId()).isEqualTo(again.getId());
+		assertThatThrownBy(() -> userService.findById(user.getId())).isInstanceOf(UserNotFoundException.class);
+		assertThatThrownBy(() -> userService.save(new User("Maria Santos", "outro@email.com", user.getLogin(),
+				"senha123", new Date(), "Av. Paulista, 456")))
+				.isInstanceOf(UserAlreadyExistsException.class);
+	}
+
+	/**
+	 * Com páginas de um usuário, a janela do resumo tem dois: o da página e o que decide o
+	 * cursor da próxima. Alterar ou excluir qualquer um deles muda o resumo.
+	 */
+	@Test
+	void pageStampChangesWhenAUserOfThePageChanges() {
+		User first = newUser();
+		User second = newUser();
+		long afterId = first.getId() - 1;
+		UserPageStamp initial = userService.pageStamp(afterId, 1, null);
+		assertThat(initial.count()).isEqualTo(2);
+		assertThat(userService.pageStamp(afterId, 1, null)).isEqualTo(initial);
+		assertThat(userService.pageStamp(afterId, 1, UserType.OWNER).count()).isZero();
+
+		User changes = new User();
+		changes.setName("Maria Oliveira");
+		userService.update(second.getId(), changes, second.getVersion());
+		UserPageStamp updated = userService.pageStamp(afterId, 1, null);
+		assertThat(updated).isNotEqualTo(initial);
+
+		userService.deleteById(first.getId());
+		assertThat(userService.pageStamp(afterId, 1, null)).isNotEqualTo(updated);
+	}
+
+	private User newUser() {
+		String login = "service.user" + SEQUENCE.incrementAndGet();
+		return userRepository.save(new User("Maria Santos", login + "@email.com", login,
+				"senha123", new Date(), "Av. Paulista, 456"));
+	}
+}
@@ -0,0 +1,47 @@
+package br.com.food_manager.foodmanager.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RequestTimingsTests {
+
+	@AfterEach
+	void tearDown() {
+		RequestTimings.close();
+	}
+
+	@Test
+	void countsOnlyOutermostCallOfNestedPhase() {
+		RequestTimings timings = RequestTimings.open();
+
+		long outer = RequestTimings.begin(RequestPhase.SERVICE);
+		long inner = RequestTimings.begin(RequestPhase.SERVICE);
+		long db = RequestTimings.begin(RequestPhase.DB);
+		RequestTimings.end(RequestPhase.DB, db);
+		RequestTimings.end(RequestPhase.SERVICE, inner);
+		RequestTimings.end(RequestPhase.SERVICE, outer);
+		long second = RequestTimings.begin(RequestPhase.SERVICE);
+		RequestTimings.end(RequestPhase.SERVICE, second);
+
+		assertThat(timings.phases())
+				.extracting(SlowRequest.Phase::name, SlowRequest.Phase::calls)
+				.containsExactly(tuple("service", 2),
+						tuple("db", 1));
+		assertThat(timings.toServerTiming())
+				.matches("service;dur=[0-9.]+;desc=\"2\", db;dur=[0-9.]+;desc=\"1\", total;dur=[0-9.]+");
+	}
+
+	@Test
+	void ignoresMeasurementsOutsideRequest() {
+		long start = RequestTimings.begin(RequestPhase.DB);
+		RequestTimings.end(RequestPhase.DB, start);
+
+		RequestTimings timings = RequestTimings.open();
+
+		assertThat(timings.phases()).isEmpty();
+		assertThat(timings.toServerTiming()).startsWith("total;dur=");
+	}
+}
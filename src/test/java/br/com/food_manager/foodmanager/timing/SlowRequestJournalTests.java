@@ -0,0 +1,31 @@
+package br.com.food_manager.foodmanager.timing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowRequestJournalTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SlowRequestJournal journal = new SlowRequestJournal(3, meterRegistry);
+
+	@Test
+	void keepsMostRecentEntriesNewestFirst() {
+		for (int i = 1; i <= 5; i++) {
+			journal.record(new SlowRequest(Instant.now(), "GET", "/api/user/" + i, 200, 600.0, List.of()));
+		}
+
+		assertThat(journal.recent())
+				.extracting(SlowRequest::path)
+				.containsExactly("/api/user/5", "/api/user/4", "/api/user/3");
+		assertThat(meterRegistry.get("foodmanager.http.slow-requests").counter().count()).isEqualTo(5.0);
+
+		journal.clear();
+
+		assertThat(journal.recent()).isEmpty();
+	}
+}